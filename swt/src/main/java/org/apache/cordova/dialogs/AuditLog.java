@@ -0,0 +1,220 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.apache.cordova.dialogs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Append-only audit log of the responses to the dialogs.
+ *
+ * Logging a response only adds a record to a lock-free queue; a background writer
+ * encodes the records and appends them to a memory-mapped segment file, starting a new
+ * segment when the current one is full. Segments are named audit-NNNNNNNNNNNNNNNN.seg
+ * and a new one is started each time the log is opened. Records written to the mapped
+ * segment survive a crash of the application; they are forced to the disk by group
+ * commit, once a number of records has been written or once some time has passed since
+ * the first unforced record, whichever comes first.
+ *
+ * Each new segment is allocated at its full size, so the oldest segments are deleted
+ * when one is started, to keep at most a given number of them in the directory.
+ *
+ * Use AuditLogReader to decode the segments.
+ */
+public class AuditLog {
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_GROUP_COMMIT_RECORDS = 64;
+    public static final long DEFAULT_GROUP_COMMIT_MILLIS = 1000;
+    public static final int DEFAULT_MAX_SEGMENTS = 16;
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+
+    private static AuditLog defaultLog;
+    private static boolean defaultLogSet;
+
+    private final File directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final BackgroundWriter<AuditRecord> writer;
+
+    // Writer thread state
+    private long segmentNumber;
+    private MappedByteBuffer segment;
+
+   /**
+     * Constructor, starts the writer.
+     *
+     * @param directory             The directory of the segments, created if needed.
+     * @param segmentSize           The size of a segment in bytes.
+     * @param groupCommitRecords    The number of records after which they are forced to the disk, 1 to force each record.
+     * @param groupCommitMillis     The maximum time in milliseconds a record waits before being forced to the disk.
+     */
+    public AuditLog(final File directory, final int segmentSize, final int groupCommitRecords, final long groupCommitMillis) {
+        this(directory, segmentSize, groupCommitRecords, groupCommitMillis, DEFAULT_MAX_SEGMENTS);
+    }
+
+   /**
+     * Constructor, starts the writer.
+     *
+     * @param directory             The directory of the segments, created if needed.
+     * @param segmentSize           The size of a segment in bytes.
+     * @param groupCommitRecords    The number of records after which they are forced to the disk, 1 to force each record.
+     * @param groupCommitMillis     The maximum time in milliseconds a record waits before being forced to the disk.
+     * @param maxSegments           The number of segments kept in the directory, 0 to keep them all.
+     */
+    public AuditLog(final File directory, final int segmentSize, final int groupCommitRecords, final long groupCommitMillis,
+            final int maxSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(0, maxSegments);
+        segmentNumber = lastSegmentNumber(directory);
+
+        writer = new BackgroundWriter<AuditRecord>("dialog-audit-writer", groupCommitRecords, groupCommitMillis) {
+            boolean append(final AuditRecord record) {
+                return AuditLog.this.append(record.encode());
+            }
+
+            void flush() {
+                force();
+            }
+
+            void finish() {
+                segment = null;
+            }
+        };
+        writer.start();
+    }
+
+   /**
+     * @return the log of the plugin, in the .opal/audit directory of the user home
+     *         directory unless another one, or none, has been set
+     */
+    public static synchronized AuditLog getDefault() {
+        if (!defaultLogSet) {
+            defaultLog = new AuditLog(new File(new File(System.getProperty("user.home"), ".opal"), "audit"),
+                    DEFAULT_SEGMENT_SIZE, DEFAULT_GROUP_COMMIT_RECORDS, DEFAULT_GROUP_COMMIT_MILLIS);
+            defaultLogSet = true;
+        }
+        return defaultLog;
+    }
+
+   /**
+     * @param log   The log of the plugin, null to not log the responses.
+     */
+    public static synchronized void setDefault(final AuditLog log) {
+        if (defaultLog != null && defaultLog != log) {
+            defaultLog.close();
+        }
+        defaultLog = log;
+        defaultLogSet = true;
+    }
+
+   /**
+     * Log a response. This method does not block.
+     *
+     * @param action        AuditRecord.CONFIRM or AuditRecord.PROMPT.
+     * @param buttonIndex   The button index returned to JavaScript.
+     * @param title         The title of the dialog.
+     * @param message       The message of the dialog.
+     * @param input         The text entered in a prompt, null for a confirm.
+     */
+    public void log(final byte action, final int buttonIndex, final String title, final String message, final String input) {
+        writer.add(new AuditRecord(System.currentTimeMillis(), action, buttonIndex, title, message, input));
+    }
+
+   /**
+     * Write the pending records, force them to the disk and stop the writer.
+     */
+    public void close() {
+        writer.close();
+    }
+
+   /**
+     * @return the number of records that could not be written
+     */
+    public long getDroppedCount() {
+        return writer.getDroppedCount();
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    private boolean append(final byte[] record) {
+        // The segment always ends with at least the 4 zero bytes of the end marker
+        if (segment == null || segment.remaining() < record.length + 4) {
+            if (!nextSegment(record.length + 4)) {
+                return false;
+            }
+        }
+        // The length goes last so that a record cut by a crash reads as the end of the segment
+        final int position = segment.position();
+        segment.position(position + 4);
+        segment.put(record, 4, record.length - 4);
+        segment.putInt(position, record.length - 4);
+        return true;
+    }
+
+    private boolean nextSegment(final int minimumSize) {
+        if (segment != null) {
+            force();
+            segment = null;
+        }
+        directory.mkdirs();
+        final File file = new File(directory, String.format("%s%016d%s", PREFIX, ++segmentNumber, SUFFIX));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // The mapping stays valid once the channel is closed
+            segment = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, minimumSize));
+        } catch (IOException e) {
+            return false;
+        }
+        deleteOldSegments();
+        return true;
+    }
+
+    private void force() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    private void deleteOldSegments() {
+        if (maxSegments == 0) {
+            return;
+        }
+        final File[] segments = AuditLogReader.listSegments(directory);
+        // Oldest first; a segment still mapped by a reader is deleted on the next rotation
+        for (File old : Arrays.copyOf(segments, Math.max(0, segments.length - maxSegments))) {
+            old.delete();
+        }
+    }
+
+    private static long lastSegmentNumber(final File directory) {
+        long last = 0;
+        final String[] names = directory.list();
+        if (names != null) {
+            for (String name : names) {
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                    try {
+                        last = Math.max(last, Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                    } catch (NumberFormatException e) {
+                        // Not a segment
+                    }
+                }
+            }
+        }
+        return last;
+    }
+}
@@ -0,0 +1,93 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.apache.cordova.dialogs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Decodes the segments written by AuditLog.
+ *
+ * Run it with segment files or directories of segments as arguments to print one record
+ * per line: time, action, button index, title, message and input, separated by tabs.
+ */
+public class AuditLogReader {
+
+    private AuditLogReader() {
+    }
+
+   /**
+     * Read the records of a segment, up to its end marker or to the first damaged record.
+     *
+     * @param segment   A segment file.
+     * @return the records of the segment, oldest first
+     */
+    public static List<AuditRecord> read(final File segment) throws IOException {
+        final List<AuditRecord> records = new ArrayList<AuditRecord>();
+        try (RandomAccessFile raf = new RandomAccessFile(segment, "r")) {
+            final MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            AuditRecord record;
+            while ((record = AuditRecord.decode(buffer)) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+   /**
+     * @param directory A directory of segments.
+     * @return the segments of the directory, oldest first
+     */
+    public static File[] listSegments(final File directory) {
+        final File[] segments = directory.listFiles((dir, name) -> name.startsWith(AuditLog.PREFIX) && name.endsWith(AuditLog.SUFFIX));
+        if (segments == null) {
+            return new File[0];
+        }
+        // The segment numbers have a fixed width
+        Arrays.sort(segments);
+        return segments;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditLogReader <segment or directory>...");
+            System.exit(1);
+        }
+        final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+        for (String arg : args) {
+            final File file = new File(arg);
+            for (File segment : file.isDirectory() ? listSegments(file) : new File[] { file }) {
+                for (AuditRecord record : read(segment)) {
+                    System.out.println(format.format(new Date(record.getTime())) + "\t"
+                            + (record.getAction() == AuditRecord.CONFIRM ? "confirm" : record.getAction() == AuditRecord.PROMPT ? "prompt" : String.valueOf(record.getAction())) + "\t"
+                            + record.getButtonIndex() + "\t"
+                            + escape(record.getTitle()) + "\t"
+                            + escape(record.getMessage()) + "\t"
+                            + escape(record.getInput()));
+                }
+            }
+        }
+    }
+
+    private static String escape(final String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+}
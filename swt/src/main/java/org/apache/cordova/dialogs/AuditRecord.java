@@ -0,0 +1,179 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.apache.cordova.dialogs;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * A response to a dialog, as written in the audit log.
+ *
+ * A record is encoded as its length (int, not counting itself), the CRC32 of what
+ * follows (int), the time (long), the action (byte), the button index (int), then the
+ * title, message and input as UTF-8 strings prefixed by their length plus one as a
+ * varint, 0 standing for null. A length of 0 marks the end of a segment.
+ */
+public class AuditRecord {
+    public static final byte CONFIRM = 1;
+    public static final byte PROMPT = 2;
+
+    private static final int HEADER = 8;
+
+    private final long time;
+    private final byte action;
+    private final int buttonIndex;
+    private final String title;
+    private final String message;
+    private final String input;
+
+   /**
+     * Constructor.
+     *
+     * @param time          Time of the response, in milliseconds since the epoch.
+     * @param action        CONFIRM or PROMPT.
+     * @param buttonIndex   The button index returned to JavaScript.
+     * @param title         The title of the dialog, may be null.
+     * @param message       The message of the dialog, may be null.
+     * @param input         The text entered in a prompt, may be null.
+     */
+    public AuditRecord(final long time, final byte action, final int buttonIndex, final String title, final String message, final String input) {
+        this.time = time;
+        this.action = action;
+        this.buttonIndex = buttonIndex;
+        this.title = title;
+        this.message = message;
+        this.input = input;
+    }
+
+    /**
+     * @return the record encoded with its length and checksum
+     */
+    byte[] encode() {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(64);
+        writeLong(body, time);
+        body.write(action);
+        writeInt(body, buttonIndex);
+        writeString(body, title);
+        writeString(body, message);
+        writeString(body, input);
+        final byte[] content = body.toByteArray();
+
+        final CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+        final ByteBuffer record = ByteBuffer.allocate(HEADER + content.length);
+        record.putInt(4 + content.length);
+        record.putInt((int) crc.getValue());
+        record.put(content);
+        return record.array();
+    }
+
+    /**
+     * Decode the record at the position of a buffer and move after it.
+     *
+     * @return the record, null at the end of the segment or if the record is damaged
+     */
+    static AuditRecord decode(final ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER) {
+            return null;
+        }
+        final int length = buffer.getInt();
+        if (length < 4 || length > buffer.remaining()) {
+            return null;
+        }
+        final int checksum = buffer.getInt();
+        final byte[] content = new byte[length - 4];
+        buffer.get(content);
+        final CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        final ByteBuffer body = ByteBuffer.wrap(content);
+        try {
+            final long time = body.getLong();
+            final byte action = body.get();
+            final int buttonIndex = body.getInt();
+            return new AuditRecord(time, action, buttonIndex, readString(body), readString(body), readString(body));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void writeInt(final ByteArrayOutputStream out, final int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeLong(final ByteArrayOutputStream out, final long value) {
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+
+    private static void writeString(final ByteArrayOutputStream out, final String value) {
+        if (value == null) {
+            out.write(0);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length + 1;
+        while ((length & ~0x7F) != 0) {
+            out.write((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.write(length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(final ByteBuffer in) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0 && shift < 35);
+        if (length == 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length - 1];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public byte getAction() {
+        return action;
+    }
+
+    public int getButtonIndex() {
+        return buttonIndex;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getInput() {
+        return input;
+    }
+}
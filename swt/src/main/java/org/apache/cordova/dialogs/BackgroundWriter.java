@@ -0,0 +1,126 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.apache.cordova.dialogs;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer shared by AuditLog and TraceRecorder.
+ *
+ * Adding an item only puts it in a lock-free queue and wakes up the writer thread, which
+ * appends the items and flushes them by groups: once a number of items has been appended
+ * or once some time has passed since the first unflushed item, whichever comes first.
+ * The subclasses only write: append, flush and finish are called on the writer thread.
+ */
+abstract class BackgroundWriter<T> {
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<T>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final long flushNanos;
+    private final int flushItems;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    // Writer thread state
+    private int unflushed;
+    private long firstUnflushed;
+
+   /**
+     * Constructor, the thread is started by start.
+     *
+     * @param name          The name of the writer thread.
+     * @param flushItems    The number of items after which they are flushed, Integer.MAX_VALUE for no limit.
+     * @param flushMillis   The maximum time in milliseconds an item waits before being flushed.
+     */
+    BackgroundWriter(final String name, final int flushItems, final long flushMillis) {
+        this.flushItems = Math.max(1, flushItems);
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushMillis));
+        thread = new Thread(new Runnable() {
+            public void run() {
+                write();
+            }
+        }, name);
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+   /**
+     * Queue an item. This method does not block.
+     */
+    void add(final T item) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.offer(item);
+        LockSupport.unpark(thread);
+    }
+
+   /**
+     * Write and flush the queued items, call finish and stop the writer thread.
+     */
+    void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+   /**
+     * @return false if the item could not be written, it is counted as dropped
+     */
+    abstract boolean append(T item);
+
+    abstract void flush();
+
+    abstract void finish();
+
+    private void write() {
+        while (true) {
+            T item;
+            while ((item = queue.poll()) != null) {
+                if (!append(item)) {
+                    dropped.incrementAndGet();
+                } else if (unflushed++ == 0) {
+                    firstUnflushed = System.nanoTime();
+                }
+            }
+
+            final boolean stopping = closed;
+            final long now = System.nanoTime();
+            if (unflushed > 0 && (stopping || unflushed >= flushItems || now - firstUnflushed >= flushNanos)) {
+                unflushed = 0;
+                flush();
+            }
+            if (stopping && queue.isEmpty()) {
+                finish();
+                return;
+            }
+
+            if (unflushed > 0) {
+                LockSupport.parkNanos(this, firstUnflushed + flushNanos - now);
+            } else {
+                LockSupport.park(this);
+            }
+        }
+    }
+}
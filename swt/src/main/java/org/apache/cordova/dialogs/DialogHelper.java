@@ -12,6 +12,17 @@ package org.apache.cordova.dialogs;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.nebula.widgets.opal.dialog.Dialog;
 public class DialogHelper {
+	// Alert and confirm dialogs are painted on a single canvas, buttons stay native for screen readers
+	private static Dialog.RenderMode renderMode = Dialog.RenderMode.LIGHTWEIGHT_NATIVE_BUTTONS;
+
+	public static Dialog.RenderMode getRenderMode() {
+		return renderMode;
+	}
+
+	public static void setRenderMode(final Dialog.RenderMode renderMode) {
+		DialogHelper.renderMode = renderMode;
+	}
+
 	public static Dialog buildAskDialog(final Shell shell, final String title, final String text,
 			final String defaultValue, String... buttonlabel) {
 		final Dialog dialog = new Dialog(shell);
@@ -28,6 +39,7 @@ public class DialogHelper {
 		dialog.setTitle(title);
 		dialog.getMessageArea().setText(text);
 		dialog.setButtons(buttonlabel);
+		dialog.setRenderMode(renderMode);
 		return dialog;
 	}
 
@@ -38,6 +50,15 @@ public class DialogHelper {
 		dialog.setTitle(title);
 		dialog.getMessageArea().setText(text);
 		dialog.setButtons(buttons);
+		dialog.setRenderMode(renderMode);
+		return dialog;
+	}
+
+	public static Dialog buildProgressDialog(final Shell shell, final String title, final String text) {
+		final Dialog dialog = new Dialog(shell);
+		dialog.setCenterPolicy(org.eclipse.nebula.widgets.opal.dialog.Dialog.CenterOption.CENTER_ON_DIALOG);
+		dialog.setTitle(title);
+		dialog.getMessageArea().setText(text).addProgressBar(0, 100, 0);
 		return dialog;
 	}
 }
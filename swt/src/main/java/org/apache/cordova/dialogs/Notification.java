@@ -28,16 +28,25 @@
 package org.apache.cordova.dialogs;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.cordova.CallbackContext;
 import org.apache.cordova.CordovaPlugin;
 import org.apache.cordova.PluginResult;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.eclipse.nebula.widgets.opal.dialog.AnswerStore;
 import org.eclipse.nebula.widgets.opal.dialog.Dialog;
+import org.eclipse.nebula.widgets.opal.dialog.HistoryDialog;
+import org.eclipse.nebula.widgets.opal.dialog.NotificationHistory;
+import org.eclipse.nebula.widgets.opal.dialog.ResourceManager;
+import org.eclipse.nebula.widgets.opal.dialog.StringUtil;
+import org.eclipse.nebula.widgets.opal.dialog.SuggestionIndex;
+import org.eclipse.nebula.widgets.opal.dialog.ToastManager;
 
 
 /**
@@ -63,10 +72,15 @@ public class Notification extends CordovaPlugin {
     private static final String ACTION_PROGRESS_STOP  = "progressStop";
     private static final String ACTION_DISMISS_PREVIOUS  = "dismissPrevious";
     private static final String ACTION_DISMISS_ALL  = "dismissAll";
+    private static final String ACTION_BATCH  = "batch";
+    private static final String ACTION_SHOW_HISTORY  = "showHistory";
 
     private static final long BEEP_WAIT_TINE = 1000;
+    private static final int DEFAULT_ICON_SIZE = 32;
 
     private ArrayList<Dialog> dialogs = new ArrayList<Dialog>();
+    private Dialog progressDialog;
+    private volatile TraceReplayer replayer;
 
     public int confirmResult = -1;
 //    public ProgressDialog spinnerDialog = null;
@@ -76,6 +90,8 @@ public class Notification extends CordovaPlugin {
      * Constructor.
      */
     public Notification() {
+        // Start reading the remembered answers before the first dialog
+        AnswerStore.getDefault();
     }
 
    /**
@@ -95,25 +111,24 @@ public class Notification extends CordovaPlugin {
     	 */
 //    	if (this.cordova.getActivity().isFinishing()) return true;
 
+        final TraceRecorder recorder = TraceRecorder.getDefault();
+        if (recorder != null) {
+            recorder.call(action, args);
+        }
+
         if (action.equals(ACTION_BEEP)) {
             this.beep(args.getLong(0));
         }
         else if (action.equals(ACTION_ALERT)) {
-        	String message = null;
-        	if (!args.get(0).equals(JSONObject.NULL)) {
-        		message = args.getString(0);
-        	} else {
-        		message = "null";
-        	}
-            this.alert(message, args.getString(1), args.getString(2), callbackContext);
+            this.alert(getMessage(args), args.getString(1), args.getString(2), args.optJSONObject(3), callbackContext);
             return true;
         }
         else if (action.equals(ACTION_CONFIRM)) {
-            this.confirm(args.getString(0), args.getString(1), args.getJSONArray(2), callbackContext);
+            this.confirm(args.getString(0), args.getString(1), args.getJSONArray(2), args.optJSONObject(3), callbackContext);
             return true;
         }
         else if (action.equals(ACTION_PROMPT)) {
-            this.prompt(args.getString(0), args.getString(1), args.getJSONArray(2), args.getString(3), callbackContext);
+            this.prompt(args.getString(0), args.getString(1), args.getJSONArray(2), args.getString(3), args.optJSONObject(4), callbackContext);
             return true;
         }
         else if (action.equals(ACTION_ACTIVITY_START)) {
@@ -133,9 +148,18 @@ public class Notification extends CordovaPlugin {
         }
         else if (action.equals(ACTION_DISMISS_PREVIOUS)) {
             this.dismissPrevious(callbackContext);
+            return true;
         }
         else if (action.equals(ACTION_DISMISS_ALL)) {
             this.dismissAll(callbackContext);
+            return true;
+        }
+        else if (action.equals(ACTION_BATCH)) {
+            this.batch(args.getJSONArray(0), callbackContext);
+            return true;
+        }
+        else if (action.equals(ACTION_SHOW_HISTORY)) {
+            this.showHistory();
         }
         else {
             return false;
@@ -184,10 +208,43 @@ public class Notification extends CordovaPlugin {
      * @param callbackContext   The callback context
      */
     public synchronized void alert(final String message, final String title, final String buttonLabel, final CallbackContext callbackContext) {
+        this.alert(message, title, buttonLabel, null, callbackContext);
+    }
+
+   /**
+     * Builds and shows a native Android alert with given Strings, or a toast when
+     * options.toast is true. A toast does not block: it is stacked with the other
+     * toasts in a corner of the screen and the callback is called when it disappears,
+     * after options.timeout milliseconds or when it is clicked.
+     * options.icon is the path or class path resource of an icon shown by the alert,
+     * options.iconSize pixels wide (32 by default).
+     * @param message           The message the alert should display
+     * @param title             The title of the alert
+     * @param buttonLabel       The label of the button, not used by toasts
+     * @param options           The options of the alert: toast, timeout, icon, iconSize (may be null)
+     * @param callbackContext   The callback context
+     */
+    public synchronized void alert(final String message, final String title, final String buttonLabel, final JSONObject options, final CallbackContext callbackContext) {
+        if (options != null && options.optBoolean("toast", false)) {
+            Runnable runnable = new Runnable() {
+                public void run() {
+                    final long id = NotificationHistory.getDefault().record(title, message, null);
+                    ToastManager.getInstance().show(title, message, options.optInt("timeout", ToastManager.DEFAULT_TIMEOUT), new Runnable() {
+                        public void run() {
+                            NotificationHistory.getDefault().close(id, -1);
+                            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, 0));
+                        }
+                    });
+                };
+            };
+            this.cordova.getActivity().runOnUiThread(runnable);
+            return;
+        }
         Runnable runnable = new Runnable() {
             public void run() {
-            	final Shell shell = com.ashera.common.ShellManager.getInstance().getActiveShell();
-            	DialogHelper.buildAlertDialog(shell, title, message, buttonLabel).show();
+            	final Dialog dialog = buildAlert(message, title, buttonLabel);
+            	setIcon(dialog, options);
+            	dialog.show();
             	callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, 0));
             };
         };
@@ -205,30 +262,44 @@ public class Notification extends CordovaPlugin {
      * @param callbackContext   The callback context.
      */
     public synchronized void confirm(final String message, final String title, final JSONArray buttonLabels, final CallbackContext callbackContext) {
+        this.confirm(message, title, buttonLabels, null, callbackContext);
+    }
+
+   /**
+     * Builds and shows a native Android confirm dialog with given title, message, buttons.
+     * When options.rememberKey is set, the dialog has a "don't ask again" check box
+     * (labelled options.checkboxLabel if given); once it has been ticked, the answer is
+     * returned right away for that key without showing the dialog. options.icon and
+     * options.iconSize show an icon as for alert.
+     *
+     * @param message           The message the dialog should display
+     * @param title             The title of the dialog
+     * @param buttonLabels      A comma separated list of button labels (Up to 3 buttons)
+     * @param options           The options of the dialog: rememberKey, checkboxLabel, icon, iconSize (may be null)
+     * @param callbackContext   The callback context.
+     */
+    public synchronized void confirm(final String message, final String title, final JSONArray buttonLabels, final JSONObject options, final CallbackContext callbackContext) {
+        final String rememberKey = options == null ? null : options.optString("rememberKey", null);
+        if (rememberKey != null) {
+            final int answer = Dialog.getRememberedAnswer(rememberKey, getButtonLabels(buttonLabels).length);
+            if (answer != -1) {
+                audit(AuditRecord.CONFIRM, getConfirmResult(buttonLabels, answer), title, message, null);
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, getConfirmResult(buttonLabels, answer)));
+                return;
+            }
+        }
 
         Runnable runnable = new Runnable() {
             public void run() {
-        		final Shell shell = com.ashera.common.ShellManager.getInstance().getActiveShell();
-            	java.util.List<String> labels = new ArrayList<>();
-            	
-                // First button
-                if (buttonLabels.length() > 0) {
-                	labels.add(buttonLabels.getString(0));
-                }
-
-                // Second button
-                if (buttonLabels.length() > 1) {
-                	labels.add(buttonLabels.getString(1));
-                }
-
-                // Third button
-                if (buttonLabels.length() > 2) {
-                	labels.add(buttonLabels.getString(2));
+                final Dialog dialog = buildConfirm(message, title, buttonLabels);
+                setIcon(dialog, options);
+                if (rememberKey != null) {
+                    dialog.setRememberKey(rememberKey);
+                    dialog.getFooterArea().addCheckBox(options.optString("checkboxLabel", ResourceManager.getLabel(ResourceManager.DONT_ASK_AGAIN)), false);
                 }
-                
-
-                int index = DialogHelper.buildConfirmDialog(shell, title, message, labels.toArray(new String[0])).show();
-                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, buttonLabels.length() - index - 1));
+                int index = dialog.show();
+                audit(AuditRecord.CONFIRM, getConfirmResult(buttonLabels, index), title, message, null);
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, getConfirmResult(buttonLabels, index)));
             };
         };
         this.cordova.getActivity().runOnUiThread(runnable);
@@ -248,64 +319,230 @@ public class Notification extends CordovaPlugin {
      * @param callbackContext   The callback context.
      */
     public synchronized void prompt(final String message, final String title, final JSONArray buttonLabels, final String defaultText, final CallbackContext callbackContext) {
+        prompt(message, title, buttonLabels, defaultText, null, callbackContext);
+    }
+
+   /**
+     * Builds and shows a prompt dialog, optionally streaming the changes of the text box
+     * while the dialog is open. When options.stream is true, debounced events of the form
+     * {event: "input", input1: "..."} are sent through the kept-alive callback before the
+     * final result. options.debounce (milliseconds) and options.maxRate (events per second)
+     * tune the stream.
+     *
+     * options.multiLine shows a multi-line text box limited to options.maxLength characters.
+     * When options.chunkSize is set and the entered text is longer, the text is sent as
+     * {event: "chunk", offset: n, data: "..."} results before a final result carrying
+     * buttonIndex, length and chunks instead of input1.
+     *
+     * options.suggestions lists values proposed in a dropdown while typing. Their index is
+     * built outside of the UI thread and cached by options.suggestionsId when given; set
+     * options.suggestionsChanged to replace the index cached for that id.
+     *
+     * options.icon and options.iconSize show an icon as for alert.
+     *
+     * @param message           The message the dialog should display
+     * @param title             The title of the dialog
+     * @param buttonLabels      A comma separated list of button labels (Up to 3 buttons)
+     * @param options           The prompt options, may be null
+     * @param callbackContext   The callback context.
+     */
+    public synchronized void prompt(final String message, final String title, final JSONArray buttonLabels, final String defaultText, final JSONObject options, final CallbackContext callbackContext) {
         Runnable runnable = new Runnable() {
             public void run() {
-            	final Shell shell = com.ashera.common.ShellManager.getInstance().getActiveShell();
-            	java.util.List<String> labels = new ArrayList<>();
-            	
-                // First button
-                if (buttonLabels.length() > 0) {
-                	labels.add(buttonLabels.getString(0));
+                Dialog dialog = buildPrompt(message, title, buttonLabels, defaultText);
+                setIcon(dialog, options);
+                if (options != null) {
+                    dialog.getMessageArea().setTextBoxMultiLine(options.optBoolean("multiLine", false))
+                            .setTextBoxLimit(options.optInt("maxLength", -1));
+                    final JSONArray suggestions = options.optJSONArray("suggestions");
+                    if (suggestions != null) {
+                        final String suggestionsId = options.optString("suggestionsId", null);
+                        if (suggestionsId != null && options.optBoolean("suggestionsChanged", false)) {
+                            SuggestionIndex.invalidate(suggestionsId);
+                        }
+                        dialog.getMessageArea().setTextBoxSuggestions(suggestionsId, () -> toList(suggestions));
+                    }
+                }
+                PromptEventStream stream = PromptEventStream.attach(dialog, callbackContext, options);
+				int index = dialog.show();
+                if (stream != null) {
+                    stream.close();
+                }
+                final JSONObject result = new JSONObject();
+                final int chunkSize = options == null ? 0 : options.optInt("chunkSize", 0);
+                final String promptText = dialog.getMessageArea().getTextBoxValue();
+                audit(AuditRecord.PROMPT, getConfirmResult(buttonLabels, index), title, message,
+                        StringUtil.isBlank(promptText) ? defaultText : promptText);
+                if (chunkSize > 0 && promptText.length() > chunkSize) {
+                    result.put("buttonIndex", getConfirmResult(buttonLabels, index));
+                    result.put("length", promptText.length());
+                    result.put("chunks", sendChunks(promptText, chunkSize, callbackContext));
+                } else {
+                    putPromptResult(result, dialog, buttonLabels, defaultText, index);
                 }
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, result));
+            };
+        };
+        this.cordova.getActivity().runOnUiThread(runnable);
+    }
 
-                // Second button
-                if (buttonLabels.length() > 1) {
-                	labels.add(buttonLabels.getString(1));
+   /**
+     * Executes several dialog operations in order within a single UI thread runnable.
+     * Each operation is an object of the form {action: "alert", args: [...]} where args
+     * follow the same layout as the corresponding single action. Supported actions are
+     * alert, confirm, prompt, progressStart, progressValue, progressStop, dismissPrevious
+     * and dismissAll. Dialogs shown by the batch are opened without blocking the following
+     * operations; one aggregated array of results, in operation order, is returned once
+     * all of them have been closed.
+     *
+     * @param operations        The operations to execute.
+     * @param callbackContext   The callback context.
+     */
+    public synchronized void batch(final JSONArray operations, final CallbackContext callbackContext) {
+        Runnable runnable = new Runnable() {
+            public void run() {
+                final JSONArray results = new JSONArray();
+                final Dialog[] shown = new Dialog[operations.length()];
+
+                for (int i = 0; i < operations.length(); i++) {
+                    final JSONObject result = new JSONObject();
+                    try {
+                        final JSONObject operation = operations.getJSONObject(i);
+                        final String action = operation.getString("action");
+                        final JSONArray args = operation.has("args") ? operation.getJSONArray("args") : new JSONArray();
+                        result.put("action", action);
+                        shown[i] = executeBatchOperation(action, args, result);
+                    } catch (JSONException e) {
+                        result.put("error", e.getMessage());
+                    } catch (RuntimeException e) {
+                        // One failing operation must not prevent the aggregated result
+                        result.put("error", String.valueOf(e));
+                    }
+                    results.put(result);
                 }
 
-                // Third button
-                if (buttonLabels.length() > 2) {
-                	labels.add(buttonLabels.getString(2));
+                final Display display = Display.getCurrent();
+                for (Dialog dialog : shown) {
+                    while (dialog != null && !dialog.getShell().isDisposed()) {
+                        if (!display.readAndDispatch()) {
+                            display.sleep();
+                        }
+                    }
                 }
-                
 
-                Dialog dialog = DialogHelper.buildAskDialog(shell, title, message, defaultText, labels.toArray(new String[0]));
-				int index = dialog.show();
-                final JSONObject result = new JSONObject();
-                result.put("buttonIndex",buttonLabels.length() - index - 1);
-                String promptText = dialog.getMessageArea().getTextBoxValue();
-				result.put("input1", promptText.trim().length()==0 ? defaultText : promptText);
-                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, result));
+                for (int i = 0; i < shown.length; i++) {
+                    if (shown[i] != null) {
+                        final JSONObject result = results.getJSONObject(i);
+                        final JSONArray args = operations.getJSONObject(i).getJSONArray("args");
+                        final int index = shown[i].getSelectedButton();
+                        if (ACTION_CONFIRM.equals(result.getString("action"))) {
+                            result.put("buttonIndex", getConfirmResult(args.getJSONArray(2), index));
+                            audit(AuditRecord.CONFIRM, result.getInt("buttonIndex"), args.getString(1), args.getString(0), null);
+                        } else if (ACTION_PROMPT.equals(result.getString("action"))) {
+                            putPromptResult(result, shown[i], args.getJSONArray(2), args.getString(3), index);
+                            audit(AuditRecord.PROMPT, result.getInt("buttonIndex"), args.getString(1), args.getString(0), result.getString("input1"));
+                        } else {
+                            result.put("buttonIndex", 0);
+                        }
+                    }
+                }
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, results));
             };
         };
         this.cordova.getActivity().runOnUiThread(runnable);
     }
 
+    /**
+     * Executes a single batch operation on the UI thread.
+     *
+     * @return the dialog opened by the operation, null when it does not open one
+     */
+    private Dialog executeBatchOperation(final String action, final JSONArray args, final JSONObject result) {
+        Dialog dialog = null;
+        if (action.equals(ACTION_ALERT)) {
+            dialog = buildAlert(getMessage(args), args.getString(1), args.getString(2));
+            setIcon(dialog, args.optJSONObject(3));
+        }
+        else if (action.equals(ACTION_CONFIRM)) {
+            dialog = buildConfirm(args.getString(0), args.getString(1), args.getJSONArray(2));
+            setIcon(dialog, args.optJSONObject(3));
+        }
+        else if (action.equals(ACTION_PROMPT)) {
+            dialog = buildPrompt(args.getString(0), args.getString(1), args.getJSONArray(2), args.getString(3));
+            setIcon(dialog, args.optJSONObject(4));
+        }
+        else if (action.equals(ACTION_PROGRESS_START)) {
+            openProgress(args.getString(0), args.getString(1));
+        }
+        else if (action.equals(ACTION_PROGRESS_VALUE)) {
+            updateProgress(args.getInt(0));
+        }
+        else if (action.equals(ACTION_PROGRESS_STOP)) {
+            closeProgress();
+        }
+        else if (action.equals(ACTION_DISMISS_PREVIOUS)) {
+            if (!closePrevious()) {
+                result.put("error", "No previously opened dialog to dismiss");
+            }
+        }
+        else if (action.equals(ACTION_DISMISS_ALL)) {
+            if (!closeAll()) {
+                result.put("error", "No previously opened dialogs to dismiss");
+            }
+        }
+        else {
+            result.put("error", "Invalid action");
+        }
+
+        if (dialog != null) {
+            dialog.open();
+        }
+        return dialog;
+    }
+
    /**
      * Close previously opened dialog
      */
     public synchronized void dismissPrevious(final CallbackContext callbackContext){
-        if(!dialogs.isEmpty()){
-            dialogs.remove(dialogs.size()-1).close();
-            callbackContext.success();
-        }else{
-            callbackContext.error("No previously opened dialog to dismiss");
-        }
+        Runnable runnable = new Runnable() {
+            public void run() {
+                if(closePrevious()){
+                    callbackContext.success();
+                }else{
+                    callbackContext.error("No previously opened dialog to dismiss");
+                }
+            };
+        };
+        this.cordova.getActivity().runOnUiThread(runnable);
     }
 
    /**
      * Close any open dialog.
      */
     public synchronized void dismissAll(final CallbackContext callbackContext){
-        if(!dialogs.isEmpty()){
-            for(Dialog dialog: dialogs){
-                dialog.close();
-            }
-            dialogs = new ArrayList<Dialog>();
-            callbackContext.success();
-        }else{
-            callbackContext.error("No previously opened dialogs to dismiss");
-        }
+        Runnable runnable = new Runnable() {
+            public void run() {
+                if(closeAll()){
+                    callbackContext.success();
+                }else{
+                    callbackContext.error("No previously opened dialogs to dismiss");
+                }
+            };
+        };
+        this.cordova.getActivity().runOnUiThread(runnable);
+    }
+
+   /**
+     * Open a window listing the last notifications displayed, most recent first.
+     */
+    public void showHistory() {
+        Runnable runnable = new Runnable() {
+            public void run() {
+                final Shell shell = com.ashera.common.ShellManager.getInstance().getActiveShell();
+                new HistoryDialog(shell, NotificationHistory.getDefault()).open();
+            };
+        };
+        this.cordova.getActivity().runOnUiThread(runnable);
     }
 
    /**
@@ -332,7 +569,12 @@ public class Notification extends CordovaPlugin {
      * @param message   The message of the dialog
      */
     public synchronized void progressStart(final String title, final String message) {
-    	
+        Runnable runnable = new Runnable() {
+            public void run() {
+                openProgress(title, message);
+            };
+        };
+        this.cordova.getActivity().runOnUiThread(runnable);
     }
 
    /**
@@ -340,14 +582,201 @@ public class Notification extends CordovaPlugin {
      *
      * @param value     0-100
      */
-    public synchronized void progressValue(int value) {
-    	
+    public synchronized void progressValue(final int value) {
+        Runnable runnable = new Runnable() {
+            public void run() {
+                updateProgress(value);
+            };
+        };
+        this.cordova.getActivity().runOnUiThread(runnable);
     }
 
    /**
      * Stop progress dialog.
      */
     public synchronized void progressStop() {
-    	
+        Runnable runnable = new Runnable() {
+            public void run() {
+                closeProgress();
+            };
+        };
+        this.cordova.getActivity().runOnUiThread(runnable);
+    }
+
+    //--------------------------------------------------------------------------
+    // UI THREAD HELPERS
+    //--------------------------------------------------------------------------
+
+    private Dialog buildAlert(final String message, final String title, final String buttonLabel) {
+        final Shell shell = com.ashera.common.ShellManager.getInstance().getActiveShell();
+        return track(DialogHelper.buildAlertDialog(shell, title, message, buttonLabel));
+    }
+
+    private Dialog buildConfirm(final String message, final String title, final JSONArray buttonLabels) {
+        final Shell shell = com.ashera.common.ShellManager.getInstance().getActiveShell();
+        return track(DialogHelper.buildConfirmDialog(shell, title, message, getButtonLabels(buttonLabels)));
+    }
+
+    private Dialog buildPrompt(final String message, final String title, final JSONArray buttonLabels, final String defaultText) {
+        final Shell shell = com.ashera.common.ShellManager.getInstance().getActiveShell();
+        return track(DialogHelper.buildAskDialog(shell, title, message, defaultText, getButtonLabels(buttonLabels)));
+    }
+
+    private void openProgress(final String title, final String message) {
+        closeProgress();
+        final Shell shell = com.ashera.common.ShellManager.getInstance().getActiveShell();
+        progressDialog = DialogHelper.buildProgressDialog(shell, title, message);
+        progressDialog.open();
+    }
+
+    private void updateProgress(final int value) {
+        if (progressDialog != null && !progressDialog.getShell().isDisposed()) {
+            progressDialog.getMessageArea().setProgressBarValue(value);
+        }
+    }
+
+    private void closeProgress() {
+        if (progressDialog != null && !progressDialog.getShell().isDisposed()) {
+            progressDialog.close();
+        }
+        progressDialog = null;
+    }
+
+    /**
+     * Keep track of an opened dialog until its shell is disposed, and record it in the history.
+     */
+    private synchronized Dialog track(final Dialog dialog) {
+        dialogs.add(dialog);
+        final List<String> buttonLabels = dialog.getFooterArea().getButtonLabels();
+        final long id = NotificationHistory.getDefault().record(dialog.getTitle(), dialog.getMessageArea().getText(),
+                buttonLabels == null ? null : buttonLabels.toArray(new String[0]));
+        final TraceRecorder recorder = TraceRecorder.getDefault();
+        final int traced = recorder == null ? -1 : recorder.opened();
+        final long openedAt = System.nanoTime();
+        dialog.getShell().addListener(SWT.Dispose, e -> {
+            untrack(dialog, id);
+            if (recorder != null) {
+                recorder.closed(traced, System.nanoTime() - openedAt, dialog.getSelectedButton(), dialog.getMessageArea().getTextBoxValue());
+            }
+        });
+        final TraceReplayer replayer = this.replayer;
+        if (replayer != null) {
+            replayer.opened(dialog);
+        }
+        return dialog;
+    }
+
+    private synchronized void untrack(final Dialog dialog, final long id) {
+        dialogs.remove(dialog);
+        NotificationHistory.getDefault().close(id, dialog.getSelectedButton());
+    }
+
+    /**
+     * Let a replayer answer the dialogs opened from now on, null to stop.
+     */
+    void setReplayer(final TraceReplayer replayer) {
+        this.replayer = replayer;
+    }
+
+    private synchronized boolean closePrevious() {
+        if (dialogs.isEmpty()) {
+            return false;
+        }
+        dialogs.remove(dialogs.size() - 1).close();
+        return true;
+    }
+
+    private synchronized boolean closeAll() {
+        if (dialogs.isEmpty()) {
+            return false;
+        }
+        for (Dialog dialog : new ArrayList<Dialog>(dialogs)) {
+            dialog.close();
+        }
+        dialogs = new ArrayList<Dialog>();
+        return true;
+    }
+
+    /**
+     * Show options.icon, decoded outside of the UI thread while the dialog is built.
+     */
+    private static void setIcon(final Dialog dialog, final JSONObject options) {
+        if (options != null && options.has("icon")) {
+            dialog.getMessageArea().setIcon(options.getString("icon"), options.optInt("iconSize", DEFAULT_ICON_SIZE));
+        }
+    }
+
+    private static String getMessage(final JSONArray args) {
+        if (!args.get(0).equals(JSONObject.NULL)) {
+            return args.getString(0);
+        }
+        return "null";
+    }
+
+    private static List<String> toList(final JSONArray values) {
+        final List<String> list = new ArrayList<>(values.length());
+        for (int i = 0; i < values.length(); i++) {
+            list.add(values.getString(i));
+        }
+        return list;
+    }
+
+    /**
+     * Only up to 3 buttons are shown, any labels after that are ignored.
+     */
+    private static String[] getButtonLabels(final JSONArray buttonLabels) {
+        final List<String> labels = new ArrayList<>();
+        for (int i = 0; i < buttonLabels.length() && i < 3; i++) {
+            labels.add(buttonLabels.getString(i));
+        }
+        return labels.toArray(new String[0]);
+    }
+
+    private static int getConfirmResult(final JSONArray buttonLabels, final int index) {
+        return buttonLabels.length() - index - 1;
+    }
+
+    /**
+     * Log a response to the audit log, without blocking.
+     */
+    private static void audit(final byte action, final int buttonIndex, final String title, final String message, final String input) {
+        final AuditLog log = AuditLog.getDefault();
+        if (log != null) {
+            log.log(action, buttonIndex, title, message, input);
+        }
+    }
+
+    private static void putPromptResult(final JSONObject result, final Dialog dialog, final JSONArray buttonLabels,
+            final String defaultText, final int index) {
+        result.put("buttonIndex", getConfirmResult(buttonLabels, index));
+        String promptText = dialog.getMessageArea().getTextBoxValue();
+        result.put("input1", StringUtil.isBlank(promptText) ? defaultText : promptText);
+    }
+
+    /**
+     * Send a large text as several kept-alive results instead of one giant JSON string.
+     * A chunk never ends between the two halves of a surrogate pair, so it may be one
+     * character shorter, or longer for chunks of one character.
+     *
+     * @return the number of chunks sent
+     */
+    private static int sendChunks(final String text, final int chunkSize, final CallbackContext callbackContext) {
+        int chunks = 0;
+        int end;
+        for (int offset = 0; offset < text.length(); offset = end) {
+            end = Math.min(text.length(), offset + chunkSize);
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end = end - 1 > offset ? end - 1 : end + 1;
+            }
+            final JSONObject chunk = new JSONObject();
+            chunk.put("event", "chunk");
+            chunk.put("offset", offset);
+            chunk.put("data", text.substring(offset, end));
+            final PluginResult result = new PluginResult(PluginResult.Status.OK, chunk);
+            result.setKeepCallback(true);
+            callbackContext.sendPluginResult(result);
+            chunks++;
+        }
+        return chunks;
     }
 }
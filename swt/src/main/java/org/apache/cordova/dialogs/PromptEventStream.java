@@ -0,0 +1,133 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.apache.cordova.dialogs;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.eclipse.nebula.widgets.opal.dialog.Dialog;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.json.JSONObject;
+
+/**
+ * Streams the changes of a dialog's text box and radio selection back to JavaScript
+ * through a kept-alive callback while the dialog is open.
+ *
+ * Changes are coalesced and debounced on the UI thread: an event is only sent once the
+ * input has been quiet for the debounce delay, never more often than the maximum rate,
+ * and always carries the latest value so a fast typist never floods the bridge.
+ */
+class PromptEventStream implements Listener {
+    static final int DEFAULT_DEBOUNCE = 150;
+    static final int DEFAULT_MAX_RATE = 10;
+
+    private final Dialog dialog;
+    private final CallbackContext callbackContext;
+    private final int debounce;
+    private final int minimumInterval;
+
+    private boolean textChanged;
+    private boolean selectionChanged;
+    private long lastSent;
+    private boolean closed;
+
+    private final Runnable flush = new Runnable() {
+        public void run() {
+            flush();
+        }
+    };
+
+   /**
+     * Constructor.
+     *
+     * @param dialog            The dialog whose changes are streamed.
+     * @param callbackContext   The callback context kept alive until the dialog is closed.
+     * @param debounce          Quiet time in milliseconds before an event is sent.
+     * @param maxRate           Maximum number of events sent per second.
+     */
+    PromptEventStream(final Dialog dialog, final CallbackContext callbackContext, final int debounce, final int maxRate) {
+        this.dialog = dialog;
+        this.callbackContext = callbackContext;
+        this.debounce = Math.max(0, debounce);
+        this.minimumInterval = maxRate > 0 ? 1000 / maxRate : 0;
+        dialog.getMessageArea().addChangeListener(this);
+    }
+
+   /**
+     * Builds a stream from the options passed by JavaScript.
+     *
+     * @return the stream, or null when streaming was not requested
+     */
+    static PromptEventStream attach(final Dialog dialog, final CallbackContext callbackContext, final JSONObject options) {
+        if (options == null || !options.optBoolean("stream", false)) {
+            return null;
+        }
+        return new PromptEventStream(dialog, callbackContext, options.optInt("debounce", DEFAULT_DEBOUNCE),
+                options.optInt("maxRate", DEFAULT_MAX_RATE));
+    }
+
+    @Override
+    public void handleEvent(final Event event) {
+        if (closed) {
+            return;
+        }
+        if (event.type == SWT.Modify) {
+            textChanged = true;
+        } else {
+            selectionChanged = true;
+        }
+
+        final long sinceLastSent = System.currentTimeMillis() - lastSent;
+        final long delay = Math.max(debounce, minimumInterval - sinceLastSent);
+        final Display display = Display.getCurrent();
+        display.timerExec(-1, flush);
+        display.timerExec((int) delay, flush);
+    }
+
+   /**
+     * Stops the stream. Pending changes are dropped since the final result carries them.
+     */
+    void close() {
+        closed = true;
+        final Display display = Display.getCurrent();
+        if (display != null) {
+            display.timerExec(-1, flush);
+        }
+    }
+
+    private void flush() {
+        if (closed || dialog.getShell().isDisposed()) {
+            return;
+        }
+        if (textChanged) {
+            final JSONObject event = new JSONObject();
+            event.put("event", "input");
+            event.put("input1", dialog.getMessageArea().getTextBoxValue());
+            send(event);
+            textChanged = false;
+        }
+        if (selectionChanged) {
+            final JSONObject event = new JSONObject();
+            event.put("event", "selection");
+            event.put("index", dialog.getMessageArea().getRadioChoice());
+            send(event);
+            selectionChanged = false;
+        }
+        lastSent = System.currentTimeMillis();
+    }
+
+    private void send(final JSONObject event) {
+        final PluginResult result = new PluginResult(PluginResult.Status.OK, event);
+        result.setKeepCallback(true);
+        callbackContext.sendPluginResult(result);
+    }
+}
@@ -0,0 +1,163 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.apache.cordova.dialogs;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An event of a dialog trace: a call to the plugin or the response to a dialog.
+ *
+ * An event is encoded as its type (byte) and its time in nanoseconds since the start of
+ * the trace (long), followed for a call by the action and the arguments as JSON, and for
+ * a response by the dialog number (int), the time the dialog was open in nanoseconds
+ * (long), the button index (int) and the text of the text box. Strings are encoded as
+ * their UTF-8 length (int, -1 standing for null) followed by their bytes.
+ */
+public class TraceEvent {
+    public static final byte CALL = 1;
+    public static final byte RESPONSE = 2;
+
+    private final byte type;
+    private final long time;
+    private final String action;
+    private final String args;
+    private final int dialog;
+    private final long duration;
+    private final int buttonIndex;
+    private final String input;
+
+    private TraceEvent(final byte type, final long time, final String action, final String args,
+            final int dialog, final long duration, final int buttonIndex, final String input) {
+        this.type = type;
+        this.time = time;
+        this.action = action;
+        this.args = args;
+        this.dialog = dialog;
+        this.duration = duration;
+        this.buttonIndex = buttonIndex;
+        this.input = input;
+    }
+
+   /**
+     * @param time      Time of the call, in nanoseconds since the start of the trace.
+     * @param action    The action executed.
+     * @param args      The arguments of the action, as JSON.
+     * @return the call
+     */
+    public static TraceEvent call(final long time, final String action, final String args) {
+        return new TraceEvent(CALL, time, action, args, -1, 0, -1, null);
+    }
+
+   /**
+     * @param time          Time the dialog was closed, in nanoseconds since the start of the trace.
+     * @param dialog        The number of the dialog, in the order the dialogs were opened.
+     * @param duration      The time the dialog was open, in nanoseconds.
+     * @param buttonIndex   The index of the selected button, -1 if none.
+     * @param input         The text of the text box, null if the dialog has none.
+     * @return the response
+     */
+    public static TraceEvent response(final long time, final int dialog, final long duration, final int buttonIndex, final String input) {
+        return new TraceEvent(RESPONSE, time, null, null, dialog, duration, buttonIndex, input);
+    }
+
+    void write(final DataOutputStream out) throws IOException {
+        out.writeByte(type);
+        out.writeLong(time);
+        if (type == CALL) {
+            writeString(out, action);
+            writeString(out, args);
+        } else {
+            out.writeInt(dialog);
+            out.writeLong(duration);
+            out.writeInt(buttonIndex);
+            writeString(out, input);
+        }
+    }
+
+    /**
+     * @return the next event, null at the end of the trace
+     */
+    static TraceEvent read(final DataInputStream in) throws IOException {
+        final int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        final long time = in.readLong();
+        if (type == CALL) {
+            return call(time, readString(in), readString(in));
+        }
+        if (type == RESPONSE) {
+            final int dialog = in.readInt();
+            final long duration = in.readLong();
+            final int buttonIndex = in.readInt();
+            return response(time, dialog, duration, buttonIndex, readString(in));
+        }
+        throw new IOException("Unknown trace event " + type);
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0) {
+            throw new EOFException();
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getArgs() {
+        return args;
+    }
+
+    public int getDialog() {
+        return dialog;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public int getButtonIndex() {
+        return buttonIndex;
+    }
+
+    public String getInput() {
+        return input;
+    }
+}
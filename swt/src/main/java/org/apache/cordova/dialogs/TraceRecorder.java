@@ -0,0 +1,174 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.apache.cordova.dialogs;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.json.JSONArray;
+
+/**
+ * Records the traffic of the plugin in a trace file, to replay it later with TraceReplayer.
+ *
+ * The trace holds every call to Notification.execute (action, arguments and time) and the
+ * response to every dialog (selected button, text entered and how long it was open).
+ * Recording an event only adds it to a lock-free queue; a background writer appends the
+ * events to a gzipped file and flushes it once some time has passed since the first
+ * unflushed event, so that a trace cut by a crash is readable up to its last flush.
+ *
+ * Recording is off unless a recorder is set with setDefault.
+ */
+public class TraceRecorder {
+    public static final int MAGIC = 0x44545231;
+    public static final long DEFAULT_FLUSH_MILLIS = 1000;
+
+    private static volatile TraceRecorder defaultRecorder;
+
+    private final File file;
+    private final long start = System.nanoTime();
+    private final AtomicInteger dialogs = new AtomicInteger();
+    private final BackgroundWriter<TraceEvent> writer;
+
+    // Writer thread state
+    private DataOutputStream out;
+
+   /**
+     * Constructor, creates the trace file and starts the writer.
+     *
+     * @param file          The trace file, overwritten if it exists.
+     * @param flushMillis   The maximum time in milliseconds an event waits before being flushed to the file.
+     */
+    public TraceRecorder(final File file, final long flushMillis) throws IOException {
+        this.file = file;
+        out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file), 8192, true), 65536));
+        out.writeInt(MAGIC);
+
+        writer = new BackgroundWriter<TraceEvent>("dialog-trace-writer", Integer.MAX_VALUE, flushMillis) {
+            boolean append(final TraceEvent event) {
+                return TraceRecorder.this.append(event);
+            }
+
+            void flush() {
+                TraceRecorder.this.flush();
+            }
+
+            void finish() {
+                TraceRecorder.this.finish();
+            }
+        };
+        writer.start();
+    }
+
+   /**
+     * @return the recorder of the plugin, null when the traffic is not recorded
+     */
+    public static TraceRecorder getDefault() {
+        return defaultRecorder;
+    }
+
+   /**
+     * @param recorder  The recorder of the plugin, null to stop recording.
+     */
+    public static synchronized void setDefault(final TraceRecorder recorder) {
+        final TraceRecorder previous = defaultRecorder;
+        defaultRecorder = recorder;
+        if (previous != null && previous != recorder) {
+            previous.close();
+        }
+    }
+
+   /**
+     * Record a call to the plugin. This method does not block.
+     *
+     * @param action    The action executed.
+     * @param args      The arguments of the action.
+     */
+    public void call(final String action, final JSONArray args) {
+        writer.add(TraceEvent.call(System.nanoTime() - start, action, args.toString()));
+    }
+
+   /**
+     * Number a dialog when it is opened.
+     *
+     * @return the number of the dialog, in the order the dialogs were opened
+     */
+    public int opened() {
+        return dialogs.getAndIncrement();
+    }
+
+   /**
+     * Record the response to a dialog when it is closed. This method does not block.
+     *
+     * @param dialog        The number returned by opened.
+     * @param duration      The time the dialog was open, in nanoseconds.
+     * @param buttonIndex   The index of the selected button, -1 if none.
+     * @param input         The text of the text box, null if the dialog has none.
+     */
+    public void closed(final int dialog, final long duration, final int buttonIndex, final String input) {
+        writer.add(TraceEvent.response(System.nanoTime() - start, dialog, duration, buttonIndex, input));
+    }
+
+   /**
+     * Write the pending events, close the file and stop the writer.
+     */
+    public void close() {
+        writer.close();
+    }
+
+   /**
+     * @return the number of events that could not be written
+     */
+    public long getDroppedCount() {
+        return writer.getDroppedCount();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    private boolean append(final TraceEvent event) {
+        if (out == null) {
+            return false;
+        }
+        try {
+            event.write(out);
+            return true;
+        } catch (IOException e) {
+            finish();
+            return false;
+        }
+    }
+
+    private void flush() {
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                finish();
+            }
+        }
+    }
+
+    private void finish() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // The events written so far stay readable
+            }
+            out = null;
+        }
+    }
+}
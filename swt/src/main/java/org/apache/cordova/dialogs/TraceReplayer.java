@@ -0,0 +1,243 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.apache.cordova.dialogs;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.eclipse.nebula.widgets.opal.dialog.Dialog;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+/**
+ * Replays a trace written by TraceRecorder through a Notification plugin.
+ *
+ * The calls are executed on a background thread, like the calls of the bridge, at the
+ * times they were recorded divided by the speed. The dialogs are answered in the order
+ * they are opened: the n-th dialog opened during the replay gets the response recorded
+ * for the n-th dialog of the trace, after the time it was open divided by the speed.
+ * A dialog without a recorded response is closed right away.
+ *
+ * The time between each call and its final result is measured, so that a replay at a
+ * high speed can be used as a repeatable load test of the plugin.
+ */
+public class TraceReplayer {
+    private final Notification plugin;
+    private final List<TraceEvent> calls = new ArrayList<TraceEvent>();
+    private TraceEvent[] responses = new TraceEvent[16];
+
+    private final long[] issuedAt;
+    private final long[] responseTimes;
+    private final CountDownLatch results;
+
+    private double speed;
+    private Thread player;
+    // UI thread state
+    private int nextDialog;
+
+   /**
+     * Constructor, reads the trace.
+     *
+     * @param plugin    The plugin the trace is replayed through.
+     * @param trace     A trace file.
+     */
+    public TraceReplayer(final Notification plugin, final File trace) throws IOException {
+        this.plugin = plugin;
+        for (TraceEvent event : read(trace)) {
+            if (event.getType() == TraceEvent.CALL) {
+                calls.add(event);
+            } else if (event.getDialog() >= 0) {
+                if (event.getDialog() >= responses.length) {
+                    responses = Arrays.copyOf(responses, Math.max(responses.length * 2, event.getDialog() + 1));
+                }
+                responses[event.getDialog()] = event;
+            }
+        }
+        issuedAt = new long[calls.size()];
+        responseTimes = new long[calls.size()];
+        Arrays.fill(responseTimes, -1);
+        results = new CountDownLatch(calls.size());
+    }
+
+   /**
+     * Read the events of a trace, up to its end or to the first damaged event.
+     *
+     * @param trace     A trace file.
+     * @return the events of the trace, in the order they were recorded
+     */
+    public static List<TraceEvent> read(final File trace) throws IOException {
+        final List<TraceEvent> events = new ArrayList<TraceEvent>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(trace))))) {
+            if (in.readInt() != TraceRecorder.MAGIC) {
+                throw new IOException("Not a dialog trace: " + trace);
+            }
+            try {
+                TraceEvent event;
+                while ((event = TraceEvent.read(in)) != null) {
+                    events.add(event);
+                }
+            } catch (IOException e) {
+                // The trace was cut, keep the events read so far
+            }
+        }
+        return events;
+    }
+
+   /**
+     * Start the replay.
+     *
+     * @param speed     The speed of the replay, 1 for the original timing,
+     *                  Double.POSITIVE_INFINITY to not wait between the events.
+     */
+    public synchronized void start(final double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("The speed must be positive");
+        }
+        if (player != null) {
+            throw new IllegalStateException("The replay has already been started");
+        }
+        this.speed = speed;
+        plugin.setReplayer(this);
+        player = new Thread(new Runnable() {
+            public void run() {
+                play();
+            }
+        }, "dialog-trace-replayer");
+        player.setDaemon(true);
+        player.start();
+    }
+
+   /**
+     * Wait for the final result of every call.
+     *
+     * @param timeout   The maximum time to wait, in milliseconds.
+     * @return true if every call has its final result, false if the time elapsed
+     */
+    public boolean await(final long timeout) throws InterruptedException {
+        return results.await(timeout, TimeUnit.MILLISECONDS);
+    }
+
+   /**
+     * Stop answering the dialogs of the plugin. The calls already executed are not undone.
+     */
+    public synchronized void stop() {
+        if (player != null) {
+            player.interrupt();
+        }
+        plugin.setReplayer(null);
+    }
+
+   /**
+     * @return the time in nanoseconds between each call and its final result,
+     *         -1 for the calls without a final result yet
+     */
+    public long[] getResponseTimes() {
+        synchronized (responseTimes) {
+            return responseTimes.clone();
+        }
+    }
+
+    public int getCallCount() {
+        return calls.size();
+    }
+
+    private void play() {
+        final long start = System.nanoTime();
+        for (int i = 0; i < calls.size(); i++) {
+            final TraceEvent call = calls.get(i);
+            final long due = start + (long) (call.getTime() / speed);
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+
+            issuedAt[i] = System.nanoTime();
+            try {
+                if (!plugin.execute(call.getAction(), new JSONArray(call.getArgs()), new ReplayCallbackContext(i))) {
+                    done(i);
+                }
+            } catch (JSONException e) {
+                done(i);
+            }
+        }
+    }
+
+    private void done(final int call) {
+        final long now = System.nanoTime();
+        synchronized (responseTimes) {
+            if (responseTimes[call] != -1) {
+                return;
+            }
+            responseTimes[call] = now - issuedAt[call];
+        }
+        results.countDown();
+    }
+
+   /**
+     * Answer a dialog of the plugin when it is opened. Called on the UI thread.
+     */
+    void opened(final Dialog dialog) {
+        final int number = nextDialog++;
+        final TraceEvent response = number < responses.length ? responses[number] : null;
+        if (response == null) {
+            dialog.getShell().getDisplay().asyncExec(new Runnable() {
+                public void run() {
+                    if (!dialog.getShell().isDisposed()) {
+                        dialog.close();
+                    }
+                }
+            });
+            return;
+        }
+        final long delay = TimeUnit.NANOSECONDS.toMillis((long) (response.getDuration() / speed));
+        dialog.getShell().getDisplay().timerExec((int) Math.min(Integer.MAX_VALUE, delay), new Runnable() {
+            public void run() {
+                if (dialog.getShell().isDisposed()) {
+                    return;
+                }
+                if (response.getInput() != null) {
+                    dialog.getMessageArea().setTextBoxValue(response.getInput());
+                }
+                dialog.select(response.getButtonIndex());
+            }
+        });
+    }
+
+    private class ReplayCallbackContext extends CallbackContext {
+        private final int call;
+
+        ReplayCallbackContext(final int call) {
+            super("replay" + call, null);
+            this.call = call;
+        }
+
+        @Override
+        public void sendPluginResult(final PluginResult pluginResult) {
+            if (!pluginResult.getKeepCallback()) {
+                done(call);
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UTFDataFormatException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Instances of this class remember the answers given to dialog boxes whose
+ * "don't ask again" check box was ticked, by key of the dialog box. Answers are
+ * appended to a file and indexed in memory. The file is read by a worker
+ * thread as soon as the store is created, and all the writes are done in
+ * order by worker threads, so that the UI thread only reads and updates the
+ * index. The file is rewritten with the current answers only, from a copy of
+ * the index, once it holds mostly outdated records.
+ * <p>
+ * The store is a convenience: when the file cannot be read or written, the
+ * answers are only remembered until the application exits.
+ * </p>
+ */
+public class AnswerStore {
+	private static final byte PUT = 1;
+	private static final byte REMOVE = 2;
+	private static final int MIN_RECORDS_TO_COMPACT = 64;
+
+	private static AnswerStore defaultStore;
+
+	private final File file;
+	private final CompletableFuture<Map<String, Integer>> loaded = new CompletableFuture<>();
+	// Writes to the file, run one after the other
+	private CompletableFuture<Void> writes;
+	// Number of records in the file, only used by the writes
+	private int records;
+
+	/**
+	 * Constructor, starts reading the file
+	 *
+	 * @param file file that holds the answers, created when the first answer is
+	 *            stored
+	 */
+	public AnswerStore(final File file) {
+		this.file = file;
+		DialogExecutor.submit(() -> {
+			try {
+				loaded.complete(read());
+			} catch (final RuntimeException e) {
+				loaded.complete(new HashMap<>());
+			}
+		});
+		writes = loaded.thenAccept(answers -> {
+		});
+	}
+
+	/**
+	 * @return the store used by the dialog boxes, in the .opal directory of the
+	 *         user home directory unless another one has been set
+	 */
+	public static synchronized AnswerStore getDefault() {
+		if (defaultStore == null) {
+			defaultStore = new AnswerStore(new File(new File(System.getProperty("user.home"), ".opal"), "answers.db"));
+		}
+		return defaultStore;
+	}
+
+	/**
+	 * @param store the store used by the dialog boxes
+	 */
+	public static synchronized void setDefault(final AnswerStore store) {
+		defaultStore = store;
+	}
+
+	/**
+	 * @param key key of a dialog box
+	 * @return the answer stored for this key, -1 if there is none
+	 */
+	public synchronized int get(final String key) {
+		final Integer answer = answers().get(key);
+		return answer == null ? -1 : answer.intValue();
+	}
+
+	/**
+	 * Store an answer, replacing the previous one. The file is written outside
+	 * of the calling thread.
+	 *
+	 * @param key key of a dialog box
+	 * @param answer index of the selected button
+	 */
+	public synchronized void put(final String key, final int answer) {
+		final Integer previous = answers().put(key, answer);
+		if (previous == null || previous.intValue() != answer) {
+			append(PUT, key, answer);
+		}
+	}
+
+	/**
+	 * Forget the answer stored for a key, so that the dialog box is displayed
+	 * again
+	 *
+	 * @param key key of a dialog box
+	 */
+	public synchronized void remove(final String key) {
+		if (answers().remove(key) != null) {
+			append(REMOVE, key, -1);
+		}
+	}
+
+	/**
+	 * Forget all the answers
+	 */
+	public synchronized void clear() {
+		answers().clear();
+		schedule(() -> {
+			records = 0;
+			file.delete();
+		});
+	}
+
+	/**
+	 * @return the index, waiting for the file to be read if it is not yet
+	 */
+	private Map<String, Integer> answers() {
+		return loaded.join();
+	}
+
+	/**
+	 * Run a write after the previous ones, outside of the calling thread
+	 */
+	private void schedule(final Runnable write) {
+		// A failed write must not stop the following ones
+		writes = writes.exceptionally(e -> null).thenRunAsync(write, DialogExecutor::submit);
+	}
+
+	private Map<String, Integer> read() {
+		final Map<String, Integer> answers = new HashMap<>();
+		if (!file.exists()) {
+			return answers;
+		}
+		long validLength = 0;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			while (true) {
+				final byte type = in.readByte();
+				final String key = in.readUTF();
+				final int answer = in.readInt();
+				if (type == PUT) {
+					answers.put(key, answer);
+				} else {
+					answers.remove(key);
+				}
+				records++;
+				validLength += 1 + 2 + utfLength(key) + 4;
+			}
+		} catch (final EOFException | UTFDataFormatException e) {
+			// End of the file, or a record cut or damaged by a crash
+		} catch (final IOException e) {
+			return answers;
+		}
+		if (validLength < file.length()) {
+			// Drop the damaged record so that the next ones can be read
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+				raf.setLength(validLength);
+			} catch (final IOException e) {
+				// Records appended after it will be ignored
+			}
+		}
+		return answers;
+	}
+
+	private static int utfLength(final String text) {
+		int length = 0;
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			length += c >= 0x0001 && c <= 0x007F ? 1 : c > 0x07FF ? 3 : 2;
+		}
+		return length;
+	}
+
+	private void append(final byte type, final String key, final int answer) {
+		schedule(() -> {
+			final File directory = file.getParentFile();
+			if (directory != null) {
+				directory.mkdirs();
+			}
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+				write(out, type, key, answer);
+			} catch (final IOException e) {
+				return;
+			}
+			records++;
+			final int size;
+			synchronized (this) {
+				size = answers().size();
+			}
+			if (records >= MIN_RECORDS_TO_COMPACT && records > size * 2) {
+				compact();
+			}
+		});
+	}
+
+	private static void write(final DataOutputStream out, final byte type, final String key, final int answer) throws IOException {
+		out.writeByte(type);
+		out.writeUTF(key);
+		out.writeInt(answer);
+	}
+
+	/**
+	 * Rewrite the file with a copy of the current answers. Called by a write, so
+	 * that no record is appended meanwhile; the answers changed since the copy
+	 * are appended by the writes that follow.
+	 */
+	private void compact() {
+		final Map<String, Integer> snapshot;
+		synchronized (this) {
+			snapshot = new HashMap<>(answers());
+		}
+		final File compacted = new File(file.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(compacted)))) {
+			for (final Map.Entry<String, Integer> entry : snapshot.entrySet()) {
+				write(out, PUT, entry.getKey(), entry.getValue());
+			}
+		} catch (final IOException e) {
+			compacted.delete();
+			return;
+		}
+		try {
+			Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			records = snapshot.size();
+		} catch (final IOException e) {
+			compacted.delete();
+		}
+	}
+}
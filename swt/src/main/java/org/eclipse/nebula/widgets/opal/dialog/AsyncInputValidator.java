@@ -0,0 +1,28 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Validates the value of a text box asynchronously, for instance with a lookup
+ * in an index. Validators are called outside of the UI thread and must not
+ * access any widget.
+ */
+@FunctionalInterface
+public interface AsyncInputValidator {
+
+	/**
+	 * @param value value of the text box
+	 * @return a stage completed with the error message to display, or with
+	 *         <code>null</code> if the value is valid
+	 */
+	CompletionStage<String> validate(String value);
+}
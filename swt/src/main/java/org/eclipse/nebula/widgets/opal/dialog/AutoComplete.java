@@ -0,0 +1,196 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+
+/**
+ * Instances of this class display a dropdown of the suggestions matching the
+ * content of a text box. The suggestions are looked up in a
+ * {@link SuggestionIndex} built outside of the UI thread, so typing never
+ * waits for the index.
+ */
+class AutoComplete {
+	private static final int VISIBLE_ITEMS = 10;
+
+	private final Text text;
+	private final CompletableFuture<SuggestionIndex> index;
+	private final int limit;
+
+	private Shell popup;
+	private org.eclipse.swt.widgets.List list;
+	private boolean enterHandled;
+	private boolean accepting;
+	private boolean refreshPending;
+
+	/**
+	 * Constructor
+	 *
+	 * @param text text box to complete
+	 * @param sourceId identifier of the suggestion source used to cache its index
+	 * @param source supplier of the suggestions
+	 * @param limit maximum number of suggestions displayed
+	 */
+	AutoComplete(final Text text, final String sourceId, final Supplier<? extends Collection<String>> source, final int limit) {
+		this.text = text;
+		this.limit = limit;
+		index = SuggestionIndex.get(sourceId, source);
+
+		text.addListener(SWT.Modify, e -> refresh());
+		text.addListener(SWT.KeyDown, this::handleKey);
+		text.addListener(SWT.FocusOut, e -> text.getDisplay().asyncExec(() -> {
+			if (!text.isDisposed() && !isListFocused()) {
+				hide();
+			}
+		}));
+		text.addListener(SWT.Dispose, e -> {
+			if (popup != null) {
+				popup.dispose();
+			}
+		});
+		text.getShell().addListener(SWT.Move, e -> hide());
+		text.getShell().addListener(SWT.Resize, e -> hide());
+	}
+
+	/**
+	 * @return <code>true</code> once if the last enter key press chose a
+	 *         suggestion, in which case it must not close the dialog
+	 */
+	boolean handlesEnter() {
+		final boolean handled = enterHandled;
+		enterHandled = false;
+		return handled;
+	}
+
+	private boolean isOpen() {
+		return popup != null && !popup.isDisposed() && popup.isVisible();
+	}
+
+	private boolean isListFocused() {
+		return list != null && !list.isDisposed() && list.isFocusControl();
+	}
+
+	private void refresh() {
+		if (accepting) {
+			return;
+		}
+		if (!index.isDone()) {
+			// One refresh once the index is built covers all the keystrokes until then
+			if (!refreshPending) {
+				refreshPending = true;
+				index.thenRun(() -> text.getDisplay().asyncExec(() -> {
+					refreshPending = false;
+					if (!text.isDisposed() && text.isFocusControl()) {
+						refresh();
+					}
+				}));
+			}
+			return;
+		}
+		if (index.isCompletedExceptionally()) {
+			return;
+		}
+		final SuggestionIndex suggestionIndex = index.getNow(null);
+
+		final List<String> matches = suggestionIndex.find(text.getText(), limit);
+		if (matches.isEmpty()) {
+			hide();
+		} else {
+			show(matches);
+		}
+	}
+
+	private void show(final List<String> matches) {
+		if (popup == null || popup.isDisposed()) {
+			createPopup();
+		}
+		list.setItems(matches.toArray(new String[0]));
+		list.setSelection(0);
+
+		final Rectangle bounds = text.getBounds();
+		final Point location = text.getParent().toDisplay(bounds.x, bounds.y + bounds.height);
+		final int height = list.getItemHeight() * Math.min(VISIBLE_ITEMS, matches.size()) + 4;
+		popup.setBounds(location.x, location.y, bounds.width, height);
+		popup.setVisible(true);
+	}
+
+	private void hide() {
+		if (isOpen()) {
+			popup.setVisible(false);
+		}
+	}
+
+	private void createPopup() {
+		popup = new Shell(text.getShell(), SWT.NO_TRIM | SWT.ON_TOP);
+		popup.setLayout(new FillLayout());
+		list = new org.eclipse.swt.widgets.List(popup, SWT.SINGLE | SWT.V_SCROLL);
+		list.addListener(SWT.DefaultSelection, e -> accept());
+		list.addListener(SWT.MouseUp, e -> accept());
+		list.addListener(SWT.KeyDown, e -> {
+			if (e.keyCode == SWT.ESC) {
+				hide();
+				text.setFocus();
+			}
+		});
+	}
+
+	private void handleKey(final Event event) {
+		if (!isOpen()) {
+			return;
+		}
+		final int count = list.getItemCount();
+		switch (event.keyCode) {
+			case SWT.ARROW_DOWN:
+				list.setSelection(Math.min(count - 1, list.getSelectionIndex() + 1));
+				event.doit = false;
+				break;
+			case SWT.ARROW_UP:
+				list.setSelection(Math.max(0, list.getSelectionIndex() - 1));
+				event.doit = false;
+				break;
+			case SWT.CR:
+			case SWT.KEYPAD_CR:
+				accept();
+				enterHandled = true;
+				event.doit = false;
+				break;
+			case SWT.ESC:
+				hide();
+				event.doit = false;
+				break;
+			default:
+				break;
+		}
+	}
+
+	private void accept() {
+		final int selection = list.getSelectionIndex();
+		if (selection >= 0) {
+			final String value = list.getItem(selection);
+			hide();
+			accepting = true;
+			text.setText(value);
+			accepting = false;
+			text.setSelection(value.length());
+		}
+		text.setFocus();
+	}
+}
@@ -0,0 +1,257 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.ScrollBar;
+
+/**
+ * Instances of this class display a large number of choice items on a single
+ * canvas. Only the visible rows are painted, all rows share the same arrow
+ * image and colors, and the row under the mouse is tracked by its index. It
+ * looks like a list of {@link ChoiceWidget} without creating any widget per
+ * item.
+ * <p>
+ * A <code>SWT.Selection</code> event is sent when an item is clicked or chosen
+ * with the keyboard, its <code>index</code> field is the index of the item in
+ * the items given to the constructor, whatever the filter.
+ * </p>
+ */
+class ChoiceList extends Canvas {
+	private static final int VISIBLE_ROWS = 8;
+	private static final int MARGIN = 5;
+
+	private final ChoiceItem[] items;
+	private final Image arrow;
+	private final Color instructionColor;
+	private final Color hoverColor;
+	private final Color hoverBorderColor;
+	private final Color selectionColor;
+	private final Color selectionBorderColor;
+
+	private final int rowHeight;
+	private final int lineHeight;
+	private Point preferredSize;
+
+	// Indexes of the displayed items, null when all items are displayed
+	private int[] visible;
+	private int hover = -1;
+	private final int selection;
+
+	/**
+	 * Constructor
+	 *
+	 * @param parent parent composite
+	 * @param items items to display
+	 * @param defaultSelection index of the item selected by default
+	 */
+	ChoiceList(final Composite parent, final ChoiceItem[] items, final int defaultSelection) {
+		super(parent, SWT.V_SCROLL | SWT.DOUBLE_BUFFERED);
+		this.items = items;
+		selection = defaultSelection;
+
+		arrow = SWTGraphicUtil.createImageFromFile("images/arrowGreenRight.png");
+		instructionColor = new Color(getDisplay(), 35, 107, 178);
+		hoverColor = new Color(getDisplay(), 220, 231, 243);
+		hoverBorderColor = new Color(getDisplay(), 35, 107, 178);
+		selectionColor = new Color(getDisplay(), 241, 241, 241);
+		selectionBorderColor = new Color(getDisplay(), 192, 192, 192);
+		SWTGraphicUtil.addDisposer(this, arrow, instructionColor, hoverColor, hoverBorderColor, selectionColor, selectionBorderColor);
+
+		final GC gc = new GC(this);
+		lineHeight = gc.getFontMetrics().getHeight();
+		gc.dispose();
+		boolean hasText = false;
+		for (final ChoiceItem item : items) {
+			hasText |= !StringUtil.isEmpty(item.getText());
+		}
+		rowHeight = Math.max(arrow.getBounds().height, lineHeight * (hasText ? 2 : 1)) + MARGIN * 2;
+
+		addListener(SWT.Paint, this::paint);
+		addListener(SWT.Resize, e -> updateScrollBar());
+		getVerticalBar().addListener(SWT.Selection, e -> redraw());
+		addListener(SWT.MouseMove, e -> setHover(rowAt(e.y)));
+		addListener(SWT.MouseExit, e -> setHover(-1));
+		addListener(SWT.MouseUp, e -> select(rowAt(e.y)));
+		addListener(SWT.KeyDown, this::handleKey);
+		addListener(SWT.Traverse, e -> {
+			if (e.detail == SWT.TRAVERSE_TAB_NEXT || e.detail == SWT.TRAVERSE_TAB_PREVIOUS) {
+				e.doit = true;
+			}
+		});
+		addListener(SWT.FocusIn, e -> {
+			if (hover == -1 && rowCount() > 0) {
+				setHover(visible == null ? Math.max(0, selection) : 0);
+			}
+		});
+	}
+
+	/**
+	 * @see org.eclipse.swt.widgets.Composite#computeSize(int, int, boolean)
+	 */
+	@Override
+	public Point computeSize(final int wHint, final int hHint, final boolean changed) {
+		if (preferredSize == null) {
+			int width = 0;
+			final GC gc = new GC(this);
+			for (final ChoiceItem item : items) {
+				width = Math.max(width, gc.textExtent(item.getInstruction()).x);
+				if (!StringUtil.isEmpty(item.getText())) {
+					width = Math.max(width, gc.textExtent(item.getText()).x);
+				}
+			}
+			gc.dispose();
+			final int scrollBarWidth = getVerticalBar().getSize().x;
+			preferredSize = new Point(arrow.getBounds().width + width + MARGIN * 4 + scrollBarWidth,
+					rowHeight * Math.min(VISIBLE_ROWS, items.length));
+		}
+		return new Point(wHint == SWT.DEFAULT ? preferredSize.x : wHint, hHint == SWT.DEFAULT ? preferredSize.y : hHint);
+	}
+
+	/**
+	 * Display only some items
+	 *
+	 * @param visible sorted indexes of the items to display, <code>null</code> to
+	 *            display all items
+	 */
+	void setVisibleItems(final int[] visible) {
+		this.visible = visible;
+		hover = -1;
+		getVerticalBar().setSelection(0);
+		updateScrollBar();
+		redraw();
+	}
+
+	private int rowCount() {
+		return visible == null ? items.length : visible.length;
+	}
+
+	private int itemAt(final int row) {
+		return visible == null ? row : visible[row];
+	}
+
+	private void updateScrollBar() {
+		final ScrollBar bar = getVerticalBar();
+		final int clientHeight = getClientArea().height;
+		final int total = rowHeight * rowCount();
+		bar.setValues(Math.min(bar.getSelection(), Math.max(0, total - clientHeight)), 0, total, Math.max(1, clientHeight), rowHeight, Math.max(1, clientHeight));
+		bar.setVisible(total > clientHeight);
+	}
+
+	private int rowAt(final int y) {
+		final int row = (y + getVerticalBar().getSelection()) / rowHeight;
+		return row < rowCount() ? row : -1;
+	}
+
+	private void setHover(final int row) {
+		if (row == hover) {
+			return;
+		}
+		final int previous = hover;
+		hover = row;
+		redrawRow(previous);
+		redrawRow(row);
+	}
+
+	private void redrawRow(final int row) {
+		if (row >= 0) {
+			final int y = row * rowHeight - getVerticalBar().getSelection();
+			redraw(0, y, getClientArea().width, rowHeight, false);
+		}
+	}
+
+	private void select(final int row) {
+		if (row < 0) {
+			return;
+		}
+		final Event event = new Event();
+		event.index = itemAt(row);
+		notifyListeners(SWT.Selection, event);
+	}
+
+	private void handleKey(final Event event) {
+		switch (event.keyCode) {
+			case SWT.ARROW_DOWN:
+				setHover(Math.min(rowCount() - 1, hover + 1));
+				reveal(hover);
+				break;
+			case SWT.ARROW_UP:
+				setHover(Math.max(0, hover - 1));
+				reveal(hover);
+				break;
+			case SWT.CR:
+			case SWT.KEYPAD_CR:
+				select(hover);
+				break;
+			default:
+				break;
+		}
+	}
+
+	private void reveal(final int row) {
+		if (row < 0) {
+			return;
+		}
+		final ScrollBar bar = getVerticalBar();
+		final int clientHeight = getClientArea().height;
+		final int y = row * rowHeight;
+		if (y < bar.getSelection()) {
+			bar.setSelection(y);
+			redraw();
+		} else if (y + rowHeight > bar.getSelection() + clientHeight) {
+			bar.setSelection(y + rowHeight - clientHeight);
+			redraw();
+		}
+	}
+
+	private void paint(final Event event) {
+		final GC gc = event.gc;
+		final Rectangle client = getClientArea();
+		final int top = getVerticalBar().getSelection();
+
+		gc.setBackground(getDisplay().getSystemColor(SWT.COLOR_WHITE));
+		gc.fillRectangle(event.x, event.y, event.width, event.height);
+
+		final int first = Math.max(0, (event.y + top) / rowHeight);
+		final int last = Math.min(rowCount() - 1, (event.y + event.height + top) / rowHeight);
+		for (int row = first; row <= last; row++) {
+			paintRow(gc, row, row * rowHeight - top, client.width);
+		}
+	}
+
+	private void paintRow(final GC gc, final int row, final int y, final int width) {
+		final int index = itemAt(row);
+		if (row == hover || index == selection) {
+			gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_WHITE));
+			gc.setBackground(row == hover ? hoverColor : selectionColor);
+			gc.fillGradientRectangle(0, y, width, rowHeight, true);
+			gc.setForeground(row == hover ? hoverBorderColor : selectionBorderColor);
+			gc.drawRoundRectangle(0, y, width - 1, rowHeight - 1, 2, 2);
+		}
+
+		final ChoiceItem item = items[index];
+		gc.drawImage(arrow, MARGIN, y + MARGIN);
+		final int x = MARGIN * 2 + arrow.getBounds().width;
+		gc.setForeground(instructionColor);
+		gc.drawText(item.getInstruction(), x, y + MARGIN, true);
+		if (!StringUtil.isEmpty(item.getText())) {
+			gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_BLACK));
+			gc.drawText(item.getText(), x, y + MARGIN + lineHeight, true);
+		}
+	}
+}
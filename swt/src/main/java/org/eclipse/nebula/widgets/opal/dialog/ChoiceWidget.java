@@ -23,14 +23,15 @@ package org.eclipse.nebula.widgets.opal.dialog;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 //import org.eclipse.nebula.widgets.opal.commons.SWTGraphicUtil;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.Color;
-import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
@@ -45,7 +46,17 @@ import org.eclipse.swt.widgets.Widget;
  * Vista and Seven. It is composed of a green arrow, instruction and text
  */
 public class ChoiceWidget extends Composite {
-	private Image oldImage;
+	// Gradient and border of the backgrounds: normal, mouse over and selected
+	private static final int[] GRADIENTS = { 0xFFFFFF, 0xDCE7F3, 0xF1F1F1 };
+	private static final int[] BORDERS = { DecorationCache.NO_BORDER, 0x236BB2, 0xC0C0C0 };
+	private static final int NORMAL = 0;
+	private static final int HOVER = 1;
+	private static final int SELECTED = 2;
+
+	// Backgrounds for the current size, created when first displayed
+	private final Image[] backgrounds = new Image[GRADIENTS.length];
+	// Background of a previous size, displayed until the one of the current size is ready
+	private Image previousBackground;
 
 	private ChoiceItem choiceItem;
 
@@ -110,8 +121,10 @@ public class ChoiceWidget extends Composite {
 
 		selectionListeners = new ArrayList<SelectionListener>();
 		addListener(SWT.Resize, event -> {
+			resetBackgrounds();
 			drawComposite();
 		});
+		addListener(SWT.Dispose, event -> disposeBackgrounds());
 
 	}
 
@@ -210,43 +223,74 @@ public class ChoiceWidget extends Composite {
 	}
 
 	/**
-	 * Draw the composite
+	 * Prepare the backgrounds for the new size outside of the UI thread, the
+	 * displayed background is kept until they are ready
 	 */
-	private void drawComposite() {
+	private void resetBackgrounds() {
+		final Image shown = getBackgroundImage();
+		for (int i = 0; i < backgrounds.length; i++) {
+			if (backgrounds[i] != shown) {
+				SWTGraphicUtil.safeDispose(backgrounds[i]);
+			}
+			backgrounds[i] = null;
+		}
+		if (shown != null && shown != previousBackground) {
+			SWTGraphicUtil.safeDispose(previousBackground);
+			previousBackground = shown;
+		}
 
+		final Display display = getDisplay();
 		final Rectangle rect = getClientArea();
-		final Image newImage = new Image(getDisplay(), Math.max(1, rect.width), Math.max(1, rect.height));
-
-		final GC gc = new GC(newImage);
-
-		final boolean inside = insideComposite || insideImage || insideInstruction || insideText;
-
-		if (!inside && !selection) {
-			gc.setBackground(getDisplay().getSystemColor(SWT.COLOR_WHITE));
-			gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_WHITE));
-			gc.drawRectangle(rect.x, rect.y, rect.width, rect.height);
-		} else {
-			// The mouse is over OR the item is selected
-			final Color gradientColor = inside ? new Color(getDisplay(), 220, 231, 243) : new Color(getDisplay(), 241, 241, 241);
-			final Color borderColor = inside ? new Color(getDisplay(), 35, 107, 178) : new Color(getDisplay(), 192, 192, 192);
-
-			gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_WHITE));
-			gc.setBackground(gradientColor);
-			gc.fillGradientRectangle(rect.x, rect.y, rect.width, rect.height, true);
-
-			gc.setForeground(borderColor);
-			gc.drawRoundRectangle(rect.x, rect.y, rect.width - 1, rect.height - 1, 2, 2);
+		for (int i = 0; i < GRADIENTS.length; i++) {
+			final CompletableFuture<ImageData> future = DecorationCache.prefetch(Math.max(1, rect.width), Math.max(1, rect.height), GRADIENTS[i], BORDERS[i]);
+			if (!future.isDone()) {
+				future.thenRun(() -> {
+					if (!display.isDisposed()) {
+						display.asyncExec(() -> {
+							// Ignore the bitmaps of a size the widget no longer has
+							if (!isDisposed() && getClientArea().equals(rect)) {
+								drawComposite();
+							}
+						});
+					}
+				});
+			}
+		}
+	}
 
-			gradientColor.dispose();
-			borderColor.dispose();
+	private void disposeBackgrounds() {
+		for (int i = 0; i < backgrounds.length; i++) {
+			SWTGraphicUtil.safeDispose(backgrounds[i]);
+			backgrounds[i] = null;
 		}
-		gc.dispose();
+		SWTGraphicUtil.safeDispose(previousBackground);
+		previousBackground = null;
+	}
 
-		setBackgroundImage(newImage);
-		if (oldImage != null) {
-			oldImage.dispose();
+	/**
+	 * Draw the composite
+	 */
+	private void drawComposite() {
+		final boolean inside = insideComposite || insideImage || insideInstruction || insideText;
+		final int state = inside ? HOVER : selection ? SELECTED : NORMAL;
+
+		if (backgrounds[state] == null) {
+			final Rectangle rect = getClientArea();
+			ImageData data = DecorationCache.getNow(Math.max(1, rect.width), Math.max(1, rect.height), GRADIENTS[state], BORDERS[state]);
+			if (data == null) {
+				if (previousBackground != null) {
+					// Redrawn when the worker thread has computed the bitmap
+					setBackgroundImage(previousBackground);
+					return;
+				}
+				// Nothing to display yet, computed here
+				data = DecorationCache.get(Math.max(1, rect.width), Math.max(1, rect.height), GRADIENTS[state], BORDERS[state]);
+			}
+			backgrounds[state] = new Image(getDisplay(), data);
 		}
-		oldImage = newImage;
+		setBackgroundImage(backgrounds[state]);
+		SWTGraphicUtil.safeDispose(previousBackground);
+		previousBackground = null;
 	}
 
 	/**
@@ -0,0 +1,93 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * This class drives the countdowns of all dialog boxes with a single timer
+ * instead of one chain of timers per dialog box. Each countdown ticks every
+ * second from the time it was added; the timer is scheduled for the next
+ * countdown due while at least one is running.
+ * <p>
+ * This class must be used in the UI thread.
+ * </p>
+ */
+class CountdownScheduler {
+	private static final long PERIOD = TimeUnit.SECONDS.toNanos(1);
+	// Timers may fire slightly early
+	private static final long TOLERANCE = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private static final List<Countdown> COUNTDOWNS = new ArrayList<>();
+	private static final Runnable TICK = CountdownScheduler::tick;
+
+	/**
+	 * Add a countdown, called for the first time one second later
+	 *
+	 * @param countdown called every second, returns <code>false</code> when the
+	 *            countdown is over
+	 */
+	static void add(final BooleanSupplier countdown) {
+		COUNTDOWNS.add(new Countdown(countdown, System.nanoTime() + PERIOD));
+		schedule();
+	}
+
+	private static void tick() {
+		try {
+			final long now = System.nanoTime();
+			// A countdown may add another one while it ticks
+			for (final Countdown countdown : new ArrayList<>(COUNTDOWNS)) {
+				if (countdown.due - now <= TOLERANCE) {
+					// Removed first so that a countdown that throws is dropped
+					COUNTDOWNS.remove(countdown);
+					if (countdown.supplier.getAsBoolean()) {
+						countdown.due += PERIOD;
+						COUNTDOWNS.add(countdown);
+					}
+				}
+			}
+		} finally {
+			schedule();
+		}
+	}
+
+	/**
+	 * Schedule the timer for the countdown due first. Scheduling the same
+	 * runnable again replaces the previous schedule.
+	 */
+	private static void schedule() {
+		if (COUNTDOWNS.isEmpty()) {
+			return;
+		}
+		long due = COUNTDOWNS.get(0).due;
+		for (final Countdown countdown : COUNTDOWNS) {
+			if (countdown.due - due < 0) {
+				due = countdown.due;
+			}
+		}
+		final long delay = Math.max(0, TimeUnit.NANOSECONDS.toMillis(due - System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1) - 1));
+		Display.getCurrent().timerExec((int) delay, TICK);
+	}
+
+	private static class Countdown {
+		private final BooleanSupplier supplier;
+		private long due;
+
+		Countdown(final BooleanSupplier supplier, final long due) {
+			this.supplier = supplier;
+			this.due = due;
+		}
+	}
+}
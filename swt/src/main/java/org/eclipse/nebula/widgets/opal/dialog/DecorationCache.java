@@ -0,0 +1,185 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+
+/**
+ * Cache of the background bitmaps of the widgets: a vertical gradient from
+ * white to a color, with an optional border whose corners are rounded off.
+ * Bitmaps are computed in plain Java as <code>ImageData</code>, so that they
+ * can be prepared by the worker threads before they are needed; the UI thread
+ * only converts them to images. Bitmaps are shared by all the widgets of the
+ * same size and colors, and the least recently used are evicted once their
+ * pixels exceed the size of the cache.
+ */
+final class DecorationCache {
+	static final int NO_BORDER = -1;
+
+	private static final long CACHE_SIZE = 2 * 1024 * 1024;
+	private static final int WHITE = 0xFFFFFF;
+
+	private static final Map<Key, CompletableFuture<ImageData>> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+	private static long cacheWeight;
+
+	private DecorationCache() {
+	}
+
+	/**
+	 * Start computing a bitmap on a worker thread, if it is not already cached
+	 *
+	 * @param width width of the bitmap
+	 * @param height height of the bitmap
+	 * @param gradient RGB value of the bottom of the gradient
+	 * @param border RGB value of the border, {@link #NO_BORDER} for none
+	 * @return a future completed with the bitmap once it is computed
+	 */
+	static CompletableFuture<ImageData> prefetch(final int width, final int height, final int gradient, final int border) {
+		final CompletableFuture<ImageData> future = lookup(new Key(width, height, gradient, border));
+		if (!future.isDone()) {
+			DialogExecutor.submit(() -> {
+				// The UI thread may have computed it in the meantime
+				if (!future.isDone()) {
+					future.complete(generate(width, height, gradient, border));
+				}
+			});
+		}
+		return future;
+	}
+
+	/**
+	 * Get a bitmap if it has already been computed
+	 *
+	 * @param width width of the bitmap
+	 * @param height height of the bitmap
+	 * @param gradient RGB value of the bottom of the gradient
+	 * @param border RGB value of the border, {@link #NO_BORDER} for none
+	 * @return the bitmap, shared: it must not be modified; <code>null</code> if
+	 *         it is not ready yet
+	 */
+	static ImageData getNow(final int width, final int height, final int gradient, final int border) {
+		return lookup(new Key(width, height, gradient, border)).getNow(null);
+	}
+
+	/**
+	 * Get a bitmap, computing it now if no worker thread has done it yet
+	 *
+	 * @param width width of the bitmap
+	 * @param height height of the bitmap
+	 * @param gradient RGB value of the bottom of the gradient
+	 * @param border RGB value of the border, {@link #NO_BORDER} for none
+	 * @return the bitmap, shared: it must not be modified
+	 */
+	static ImageData get(final int width, final int height, final int gradient, final int border) {
+		final CompletableFuture<ImageData> future = lookup(new Key(width, height, gradient, border));
+		if (!future.isDone()) {
+			future.complete(generate(width, height, gradient, border));
+		}
+		return future.join();
+	}
+
+	private static CompletableFuture<ImageData> lookup(final Key key) {
+		synchronized (CACHE) {
+			CompletableFuture<ImageData> future = CACHE.get(key);
+			if (future == null) {
+				future = new CompletableFuture<>();
+				CACHE.put(key, future);
+				cacheWeight += key.weight();
+				final Iterator<Key> iterator = CACHE.keySet().iterator();
+				while (cacheWeight > CACHE_SIZE && iterator.hasNext()) {
+					final Key eldest = iterator.next();
+					if (eldest != key) {
+						iterator.remove();
+						cacheWeight -= eldest.weight();
+					}
+				}
+			}
+			return future;
+		}
+	}
+
+	/**
+	 * @return a 24 bits bitmap with a vertical gradient from white at the top
+	 *         to the gradient color at the bottom, surrounded by the border
+	 */
+	static ImageData generate(final int width, final int height, final int gradient, final int border) {
+		final ImageData data = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		final int[] row = new int[width];
+		for (int y = 0; y < height; y++) {
+			final int color = height == 1 ? gradient : blend(WHITE, gradient, y, height - 1);
+			final boolean edge = y == 0 || y == height - 1;
+			for (int x = 0; x < width; x++) {
+				row[x] = color;
+			}
+			if (border != NO_BORDER) {
+				if (edge) {
+					// The corners are left out, as drawn by a round rectangle of arc 2
+					for (int x = 1; x < width - 1; x++) {
+						row[x] = border;
+					}
+				} else {
+					row[0] = border;
+					row[width - 1] = border;
+				}
+			}
+			data.setPixels(0, y, width, row, 0);
+		}
+		return data;
+	}
+
+	private static int blend(final int from, final int to, final int step, final int steps) {
+		final int red = channel(from, 16) + (channel(to, 16) - channel(from, 16)) * step / steps;
+		final int green = channel(from, 8) + (channel(to, 8) - channel(from, 8)) * step / steps;
+		final int blue = channel(from, 0) + (channel(to, 0) - channel(from, 0)) * step / steps;
+		return red << 16 | green << 8 | blue;
+	}
+
+	private static int channel(final int rgb, final int shift) {
+		return rgb >> shift & 0xFF;
+	}
+
+	private static class Key {
+		private final int width;
+		private final int height;
+		private final int gradient;
+		private final int border;
+
+		Key(final int width, final int height, final int gradient, final int border) {
+			this.width = width;
+			this.height = height;
+			this.gradient = gradient;
+			this.border = border;
+		}
+
+		long weight() {
+			return 3L * width * height;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return width == other.width && height == other.height && gradient == other.gradient && border == other.border;
+		}
+
+		@Override
+		public int hashCode() {
+			return ((width * 31 + height) * 31 + gradient) * 31 + border;
+		}
+	}
+}
@@ -22,12 +22,19 @@
  *******************************************************************************/
 package org.eclipse.nebula.widgets.opal.dialog;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 //import org.eclipse.nebula.widgets.opal.commons.ResourceManager;
 //import org.eclipse.nebula.widgets.opal.commons.SWTGraphicUtil;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 
@@ -48,6 +55,19 @@ public class Dialog {
 		CENTER_ON_SCREEN, CENTER_ON_DIALOG
 	}
 
+	/**
+	 * Ways of rendering a dialog box made only of a title, an icon, a text and
+	 * buttons. Other dialog boxes are always rendered with widgets.
+	 */
+	public enum RenderMode {
+		WIDGETS, LIGHTWEIGHT, LIGHTWEIGHT_NATIVE_BUTTONS
+	}
+
+	// Open exception dialogs by fingerprint of their exception
+	private static final Map<Long, Dialog> EXCEPTION_DIALOGS = new HashMap<>();
+	private static boolean exceptionAggregation;
+	private static final String HEIGHT_DATA = "org.eclipse.nebula.widgets.opal.dialog.height";
+
 	private CenterOption centerPolicy = CenterOption.CENTER_ON_SCREEN;
 
 	private String title;
@@ -60,6 +80,11 @@ public class Dialog {
 	private int minimumHeight = 150;
 	
 	private Point lastSize;
+	private boolean lazyRender;
+	private RenderMode renderMode = RenderMode.WIDGETS;
+	// Geometry of a dialog box rendered with widgets that it models, null otherwise
+	private DialogGeometry geometry;
+	private String rememberKey;
 
 	/**
 	 * Constructor
@@ -111,35 +136,81 @@ public class Dialog {
 	 * @return the index of the selected button
 	 */
 	public int show() {
+		if (rememberKey != null) {
+			final List<String> buttonLabels = footerArea.getButtonLabels();
+			final int answer = getRememberedAnswer(rememberKey, buttonLabels == null ? 0 : buttonLabels.size());
+			if (answer != -1) {
+				footerArea.selectedButtonIndex = answer;
+				shell.dispose();
+				return answer;
+			}
+		}
+
+		open();
+
+		final Display display = shell.getDisplay();
+		while (!shell.isDisposed()) {
+			if (!display.readAndDispatch()) {
+				display.sleep();
+			}
+		}
+
+		final int selected = footerArea.getSelectedButton();
+		if (rememberKey != null && selected != -1 && (footerArea.getCheckBoxValue() || messageArea.getCheckBoxValue())) {
+			AnswerStore.getDefault().put(rememberKey, selected);
+		}
+		return selected;
+	}
+
+	/**
+	 * Check the answer remembered for a dialog box before building it, so that
+	 * no widget is created when the dialog box does not have to be displayed
+	 *
+	 * @param rememberKey key of the dialog box
+	 * @param buttonCount number of buttons of the dialog box
+	 * @return the index of the button selected when the "don't ask again" check
+	 *         box was ticked, -1 if there is none or if the dialog box no longer
+	 *         has this button
+	 * @see #setRememberKey(String)
+	 */
+	public static int getRememberedAnswer(final String rememberKey, final int buttonCount) {
+		final int answer = AnswerStore.getDefault().get(rememberKey);
+		return answer < buttonCount ? answer : -1;
+	}
+
+	/**
+	 * Render and open the dialog box without waiting for it to be closed
+	 */
+	public void open() {
 		final GridLayout gd = new GridLayout(1, true);
 		gd.horizontalSpacing = 0;
 		gd.verticalSpacing = 0;
 		gd.marginHeight = gd.marginWidth = 0;
 		shell.setLayout(gd);
 
-		messageArea.render();
-		footerArea.render();
+		if (renderMode != RenderMode.WIDGETS && messageArea.isPlain() && footerArea.isPlain()) {
+			final LightweightRenderer renderer = new LightweightRenderer(this, renderMode == RenderMode.LIGHTWEIGHT_NATIVE_BUTTONS);
+			renderer.setLayoutData(new GridData(GridData.FILL, GridData.FILL, true, true));
+		} else {
+			messageArea.render();
+			footerArea.render();
+			if (messageArea.isPlain() && footerArea.isPlain()) {
+				final List<String> labels = footerArea.getButtonLabels();
+				geometry = messageArea.createGeometry(labels == null ? new String[0] : labels.toArray(new String[0]), footerArea.getButtonTrim());
+			}
+		}
 		if (title != null) {
 			shell.setText(title);
 		}
 		pack();
 		center();
 		
-		shell.setMinimumSize(shell.computeSize(minimumWidth, SWT.DEFAULT));
+		shell.setMinimumSize(computeShellSize(minimumWidth));
 		shell.open();
-
-		final Display display = shell.getDisplay();
-		while (!shell.isDisposed()) {
-			if (!display.readAndDispatch()) {
-				display.sleep();
-			}
-		}
-
-		return footerArea.getSelectedButton();
 	}
 
 	private void center() {
-		final Point preferredSize = shell.computeSize(SWT.DEFAULT, SWT.DEFAULT);
+		final Point preferredSize = computeShellSize(SWT.DEFAULT);
 
 		if (preferredSize.x < minimumWidth) {
 			preferredSize.x = minimumWidth;
@@ -149,24 +220,27 @@ public class Dialog {
 			preferredSize.y = minimumHeight;
 		}
 		
-		final int centerX;
-		final int centerY;
+		final Shell parent = centerPolicy == CenterOption.CENTER_ON_SCREEN || shell.getParent() == null ? null : (Shell) shell.getParent();
+		final Point location = DialogPlacement.get(shell.getDisplay()).place(shell, parent, preferredSize);
+		shell.setBounds(location.x, location.y, preferredSize.x, preferredSize.y);
+	}
 
-		if (centerPolicy == CenterOption.CENTER_ON_SCREEN || shell.getParent() == null) {
-			Shell activeShell = shell.getDisplay().getActiveShell();
-			if (activeShell == null) {
-				activeShell = shell;
+	/**
+	 * @return the number of native controls of the dialog box, including its
+	 *         shell
+	 */
+	public int getNativeWidgetCount() {
+		return countControls(shell);
+	}
+
+	private static int countControls(final Control control) {
+		int count = 1;
+		if (control instanceof Composite) {
+			for (final Control child : ((Composite) control).getChildren()) {
+				count += countControls(child);
 			}
-			final Rectangle monitorBounds = SWTGraphicUtil.getBoundsOfMonitorOnWhichShellIsDisplayed(activeShell);
-			centerX = monitorBounds.x + (monitorBounds.width - preferredSize.x) / 2;
-			centerY = monitorBounds.y + (monitorBounds.height - preferredSize.y) / 2;
-		} else {
-			final Shell parent = (Shell) shell.getParent();
-			centerX = parent.getLocation().x + (parent.getSize().x - preferredSize.x) / 2;
-			centerY = parent.getLocation().y + (parent.getSize().y - preferredSize.y) / 2;
 		}
-
-		shell.setBounds(centerX, centerY, preferredSize.x, preferredSize.y);		
+		return count;
 	}
 
 	/**
@@ -176,12 +250,22 @@ public class Dialog {
 		shell.dispose();
 	}
 
+	/**
+	 * Close the dialog box as if a button had been selected
+	 *
+	 * @param buttonIndex index of the button, -1 for none
+	 */
+	public void select(final int buttonIndex) {
+		footerArea.selectedButtonIndex = buttonIndex;
+		shell.dispose();
+	}
+
 	/**
 	 * Compute the size of the shell
 	 */
 	void pack() {
 
-		final Point preferredSize = shell.computeSize(SWT.DEFAULT, SWT.DEFAULT);
+		final Point preferredSize = computeShellSize(SWT.DEFAULT);
 		Rectangle bounds = shell.getBounds();
 		
 		preferredSize.x = Math.max(preferredSize.x, minimumWidth);
@@ -196,6 +280,81 @@ public class Dialog {
 		shell.setBounds(bounds.x, bounds.y, preferredSize.x, preferredSize.y);
 		lastSize = null;
 	}
+
+	/**
+	 * @param widthHint minimum width of the content of the shell, SWT.DEFAULT
+	 *            for none
+	 * @return the preferred size of the shell, computed from the geometry of
+	 *         the dialog box when it is modeled instead of measuring the widgets
+	 */
+	private Point computeShellSize(final int widthHint) {
+		if (geometry == null) {
+			return shell.computeSize(widthHint, SWT.DEFAULT);
+		}
+		final Point size = geometry.computeWidgetSize(!lazyRender, footerArea.getSeparatorHeight());
+		final Rectangle trim = shell.computeTrim(0, 0, Math.max(size.x, widthHint), size.y);
+		return new Point(trim.width, trim.height);
+	}
+
+	/**
+	 * Hide a control laid out in a grid and shrink the shell by its height. The
+	 * height is kept so that showing the control again does not measure it.
+	 *
+	 * @param control control to hide
+	 */
+	void hideControl(final Control control) {
+		final GridData gd = (GridData) control.getLayoutData();
+		if (gd.exclude) {
+			return;
+		}
+		final int height = control.getSize().y + ((GridLayout) control.getParent().getLayout()).verticalSpacing;
+		control.setData(HEIGHT_DATA, Integer.valueOf(height));
+		toggleControl(control, false, -height);
+	}
+
+	/**
+	 * Show a control hidden by {@link #hideControl(Control)} and grow the shell by
+	 * its height
+	 *
+	 * @param control control to show
+	 */
+	void showControl(final Control control) {
+		final GridData gd = (GridData) control.getLayoutData();
+		if (!gd.exclude) {
+			return;
+		}
+		final Integer height = (Integer) control.getData(HEIGHT_DATA);
+		if (height == null) {
+			// Never displayed, so never measured
+			control.setVisible(true);
+			gd.exclude = false;
+			shell.layout(new Control[] { control });
+			pack();
+			return;
+		}
+		toggleControl(control, true, height.intValue());
+	}
+
+	private void toggleControl(final Control control, final boolean visible, final int delta) {
+		shell.setRedraw(false);
+		try {
+			control.setVisible(visible);
+			((GridData) control.getLayoutData()).exclude = !visible;
+
+			final Point minimumSize = shell.getMinimumSize();
+			final Point size = shell.getSize();
+			if (visible) {
+				shell.setMinimumSize(minimumSize.x, minimumSize.y + delta);
+				shell.setSize(size.x, size.y + delta);
+			} else {
+				shell.setSize(size.x, size.y + delta);
+				shell.setMinimumSize(minimumSize.x, Math.max(0, minimumSize.y + delta));
+			}
+			shell.layout(new Control[] { control });
+		} finally {
+			shell.setRedraw(true);
+		}
+	}
 	
 
 	// ------------------------------------------- Convenient methods
@@ -242,7 +401,7 @@ public class Dialog {
 	public static Dialog buildAskDialog(final Shell shell, final String title, final String text,
 			final String defaultValue) {
 		final Dialog dialog = new Dialog(shell);
-		dialog.setTitle(ResourceManager.getLabel(ResourceManager.INPUT));
+		dialog.setTitle(ResourceManager.getLabel(ResourceManager.INPUT_INDEX));
 		dialog.getMessageArea().setTitle(title).setText(text)
 				.setIcon(Display.getCurrent().getSystemImage(SWT.ICON_QUESTION)).addTextBox(defaultValue);
 		dialog.setButtonType(OpalDialogType.OK_CANCEL);
@@ -280,7 +439,7 @@ public class Dialog {
 	 */
 	public static Dialog buildErrorDialog(final Shell shell, final String title, final String errorMessage) {
 		final Dialog dialog = new Dialog(shell);
-		dialog.setTitle(ResourceManager.getLabel(ResourceManager.APPLICATION_ERROR));
+		dialog.setTitle(ResourceManager.getLabel(ResourceManager.APPLICATION_ERROR_INDEX));
 		dialog.getMessageArea().setTitle(title).//
 				setText(errorMessage).//
 				setIcon(Display.getCurrent().getSystemImage(SWT.ICON_ERROR));
@@ -319,7 +478,7 @@ public class Dialog {
 	 */
 	public static Dialog buildInformDialog(final Shell shell, final String title, final String text) {
 		final Dialog dialog = new Dialog(shell);
-		dialog.setTitle(ResourceManager.getLabel(ResourceManager.INFORMATION));
+		dialog.setTitle(ResourceManager.getLabel(ResourceManager.INFORMATION_INDEX));
 		dialog.getMessageArea().setTitle(title).//
 				setText(text).setIcon(Display.getCurrent().getSystemImage(SWT.ICON_INFORMATION));
 		dialog.setButtonType(OpalDialogType.CLOSE);
@@ -388,7 +547,7 @@ public class Dialog {
 	 */
 	public static Dialog buildConfirmDialog(final Shell shell, final String title, final String text, final int timer) {
 		final Dialog dialog = new Dialog(shell);
-		dialog.setTitle(ResourceManager.getLabel(ResourceManager.WARNING));
+		dialog.setTitle(ResourceManager.getLabel(ResourceManager.WARNING_INDEX));
 		dialog.getMessageArea().setTitle(title).setText(text)
 				.setIcon(Display.getCurrent().getSystemImage(SWT.ICON_WARNING));
 
@@ -443,7 +602,7 @@ public class Dialog {
 	public static Dialog buildRadioChoiceDialog(final Shell shell, final String title, final String text,
 			final int defaultSelection, final String... values) {
 		final Dialog dialog = new Dialog(shell);
-		dialog.setTitle(ResourceManager.getLabel(ResourceManager.CHOICE));
+		dialog.setTitle(ResourceManager.getLabel(ResourceManager.CHOICE_INDEX));
 		dialog.getMessageArea().setTitle(title).setText(text)
 				.setIcon(Display.getCurrent().getSystemImage(SWT.ICON_QUESTION))
 				.addRadioButtons(defaultSelection, values);
@@ -457,7 +616,22 @@ public class Dialog {
 	 * @param exception exception to display
 	 */
 	public static void showException(final Throwable exception) {
-		buildExceptionDialog(exception).show();
+		if (!exceptionAggregation) {
+			buildExceptionDialog(exception).show();
+			return;
+		}
+
+		final Long fingerprint = ExceptionFingerprint.of(exception);
+		final Dialog open = EXCEPTION_DIALOGS.get(fingerprint);
+		if (open != null && !open.shell.isDisposed()) {
+			open.getMessageArea().addOccurrence(System.currentTimeMillis());
+			return;
+		}
+
+		final Dialog dialog = buildExceptionDialog(exception);
+		EXCEPTION_DIALOGS.put(fingerprint, dialog);
+		dialog.shell.addListener(SWT.Dispose, e -> EXCEPTION_DIALOGS.remove(fingerprint, dialog));
+		dialog.show();
 	}
 
 	/**
@@ -469,7 +643,7 @@ public class Dialog {
 	public static Dialog buildExceptionDialog(final Throwable exception) {
 		final Dialog dialog = new Dialog();
 
-		dialog.setTitle(ResourceManager.getLabel(ResourceManager.EXCEPTION));
+		dialog.setTitle(ResourceManager.getLabel(ResourceManager.EXCEPTION_INDEX));
 
 		final String msg = exception.getMessage();
 		final String className = exception.getClass().getName();
@@ -529,7 +703,7 @@ public class Dialog {
 	public static Dialog buildChoiceDialog(final Shell shell, final String title, final String text,
 			final int defaultSelection, final ChoiceItem... items) {
 		final Dialog dialog = new Dialog(shell);
-		dialog.setTitle(ResourceManager.getLabel(ResourceManager.CHOICE));
+		dialog.setTitle(ResourceManager.getLabel(ResourceManager.CHOICE_INDEX));
 		dialog.getMessageArea().setTitle(title).setText(text)
 				.setIcon(Display.getCurrent().getSystemImage(SWT.ICON_QUESTION)).addChoice(defaultSelection, items);
 		dialog.setButtonType(OpalDialogType.NONE);
@@ -538,6 +712,24 @@ public class Dialog {
 
 	// ------------------------------------------- Getters & Setters
 
+	/**
+	 * @return <code>true</code> if exceptions with the same fingerprint as an
+	 *         exception already displayed are counted on its dialog box
+	 */
+	public static boolean isExceptionAggregation() {
+		return exceptionAggregation;
+	}
+
+	/**
+	 * @param exceptionAggregation if <code>true</code>, {@link #showException}
+	 *            does not open a new dialog box for an exception with the same
+	 *            {@link ExceptionFingerprint} as an exception already displayed,
+	 *            but counts it on the open dialog box
+	 */
+	public static void setExceptionAggregation(final boolean exceptionAggregation) {
+		Dialog.exceptionAggregation = exceptionAggregation;
+	}
+
 	/**
 	 * @return the title
 	 */
@@ -567,21 +759,21 @@ public class Dialog {
 
 		switch (buttonType) {
 			case CLOSE:
-				footerArea.setButtonLabels(ResourceManager.getLabel(ResourceManager.CLOSE)).setDefaultButtonIndex(0);
+				footerArea.setButtonLabels(ResourceManager.getLabel(ResourceManager.CLOSE_INDEX)).setDefaultButtonIndex(0);
 				break;
 			case NO_BUTTON:
 				break;
 			case OK:
-				footerArea.setButtonLabels(ResourceManager.getLabel(ResourceManager.OK)).setDefaultButtonIndex(0);
+				footerArea.setButtonLabels(ResourceManager.getLabel(ResourceManager.OK_INDEX)).setDefaultButtonIndex(0);
 				break;
 			case OK_CANCEL:
-				footerArea.setButtonLabels(ResourceManager.getLabel(ResourceManager.OK), ResourceManager.getLabel(ResourceManager.CANCEL)).setDefaultButtonIndex(-1);
+				footerArea.setButtonLabels(ResourceManager.getLabel(ResourceManager.OK_INDEX), ResourceManager.getLabel(ResourceManager.CANCEL_INDEX)).setDefaultButtonIndex(-1);
 				break;
 			case SELECT_CANCEL:
-				footerArea.setButtonLabels(ResourceManager.getLabel(ResourceManager.SELECT), ResourceManager.getLabel(ResourceManager.CANCEL)).setDefaultButtonIndex(-1);
+				footerArea.setButtonLabels(ResourceManager.getLabel(ResourceManager.SELECT_INDEX), ResourceManager.getLabel(ResourceManager.CANCEL_INDEX)).setDefaultButtonIndex(-1);
 				break;
 			case YES_NO:
-				footerArea.setButtonLabels(ResourceManager.getLabel(ResourceManager.YES), ResourceManager.getLabel(ResourceManager.NO)).setDefaultButtonIndex(0);
+				footerArea.setButtonLabels(ResourceManager.getLabel(ResourceManager.YES_INDEX), ResourceManager.getLabel(ResourceManager.NO_INDEX)).setDefaultButtonIndex(0);
 				break;
 			default:
 				break;
@@ -652,6 +844,60 @@ public class Dialog {
 		this.minimumHeight = minimumHeight;
 	}
 
+	/**
+	 * @return <code>true</code> if only the sections visible when the dialog box
+	 *         opens are created
+	 */
+	public boolean isLazyRender() {
+		return lazyRender;
+	}
+
+	/**
+	 * @param lazyRender if <code>true</code>, the collapsed exception panel is
+	 *            created when it is expanded for the first time, and empty
+	 *            containers and separator wrappers are not created
+	 */
+	public void setLazyRender(final boolean lazyRender) {
+		this.lazyRender = lazyRender;
+	}
+
+	/**
+	 * @return the way a plain dialog box is rendered
+	 */
+	public RenderMode getRenderMode() {
+		return renderMode;
+	}
+
+	/**
+	 * @param renderMode the way a dialog box made only of a title, an icon, a
+	 *            text and buttons is rendered: with widgets, or painted on a
+	 *            single canvas with painted or native buttons
+	 */
+	public void setRenderMode(final RenderMode renderMode) {
+		this.renderMode = renderMode;
+	}
+
+	/**
+	 * @return the key under which the answer of this dialog box is remembered,
+	 *         null if it is not
+	 */
+	public String getRememberKey() {
+		return rememberKey;
+	}
+
+	/**
+	 * When the check box of the footer or of the message area is ticked, the
+	 * selected button is stored in the {@link AnswerStore} under this key, and
+	 * the next dialog boxes with the same key return it from {@link #show()}
+	 * without being displayed.
+	 *
+	 * @param rememberKey a key that identifies the question asked by this dialog
+	 *            box, null to not remember the answer
+	 */
+	public void setRememberKey(final String rememberKey) {
+		this.rememberKey = rememberKey;
+	}
+
 	/**
 	 * @return the center policy (Dialog centered on screen or centered in the
 	 *         center of the parent window)
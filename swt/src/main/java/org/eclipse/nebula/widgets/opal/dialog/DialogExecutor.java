@@ -0,0 +1,38 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared pool of daemon threads used by the dialogs for work that must not
+ * run on the UI thread
+ */
+public class DialogExecutor {
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+	private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+			Math.max(2, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+				final Thread thread = new Thread(runnable, "dialog-worker-" + THREAD_COUNT.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+
+	public static Future<?> submit(final Runnable task) {
+		return EXECUTOR.submit(task);
+	}
+
+	public static <T> Future<T> submit(final Callable<T> task) {
+		return EXECUTOR.submit(task);
+	}
+}
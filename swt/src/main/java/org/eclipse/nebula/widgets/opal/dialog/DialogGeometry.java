@@ -0,0 +1,251 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+
+/**
+ * Instances of this class compute the geometry of a dialog box made of a title,
+ * an icon, a text and buttons from its description only, with the
+ * {@link TextMetrics} cache: the preferred size, the position of the title and
+ * of each line of the text, and the bounds of the footer and of the buttons.
+ * No widget is needed, so the size of the dialog box is known before it is
+ * created.
+ * <p>
+ * The same description also gives the size of a dialog box rendered with the
+ * widgets of the message and footer areas, whose layout is mirrored by
+ * {@link #computeWidgetSize(boolean, int)}: the widgets then get their sizes as
+ * hints and the shell is sized without measuring them.
+ * </p>
+ */
+class DialogGeometry {
+	static final int MARGIN = 10;
+	static final int BUTTON_WIDTH = 70;
+	private static final int BUTTON_SPACING = 6;
+	private static final int MAX_TEXT_WIDTH = 500;
+	// Spacing of the grid layouts of the widget renderer
+	private static final int GRID_SPACING = 5;
+
+	private final String title;
+	private final String text;
+	private final Point iconSize;
+	private final String[] labels;
+	private final Font font;
+	private final Font titleFont;
+	private final Point buttonTrim;
+
+	// Geometry computed for width
+	private int width = -1;
+	int textX;
+	int titleY;
+	int textY;
+	int footerY;
+	int height;
+	TextMetrics.Wrap textWrap;
+	private String[] lines;
+	Rectangle[] buttonBounds;
+
+	/**
+	 * Constructor
+	 *
+	 * @param title title, may be null
+	 * @param text text, may be null
+	 * @param iconSize size of the icon, null if there is no icon
+	 * @param labels labels of the buttons
+	 * @param font font of the text and of the buttons
+	 * @param titleFont font of the title
+	 * @param buttonTrim space taken by a button around its label
+	 */
+	DialogGeometry(final String title, final String text, final Point iconSize, final String[] labels, final Font font, final Font titleFont, final Point buttonTrim) {
+		this.title = StringUtil.isEmpty(title) ? null : title;
+		this.text = StringUtil.isEmpty(text) ? null : text;
+		this.iconSize = iconSize;
+		this.labels = labels;
+		this.font = font;
+		this.titleFont = titleFont;
+		this.buttonTrim = buttonTrim;
+	}
+
+	/**
+	 * @return the preferred size of the dialog box content
+	 */
+	Point computeSize() {
+		int contentWidth = title == null ? 0 : TextMetrics.extent(titleFont, title).x;
+		if (text != null) {
+			contentWidth = Math.max(contentWidth, preferredTextWidth());
+		}
+		int buttonsWidth = 0;
+		for (final String label : labels) {
+			buttonsWidth += buttonWidth(label) + BUTTON_SPACING;
+		}
+		final int preferredWidth = Math.max(contentX() + contentWidth + MARGIN * 2, buttonsWidth + MARGIN * 2);
+		layout(preferredWidth);
+		return new Point(preferredWidth, height);
+	}
+
+	/**
+	 * @return the size of the text wrapped at its preferred width, (0, 0) if
+	 *         there is no text
+	 */
+	Point computeTextSize() {
+		if (text == null) {
+			return new Point(0, 0);
+		}
+		final int textWidth = preferredTextWidth();
+		return new Point(textWidth, TextMetrics.wrap(font, text, textWidth).height);
+	}
+
+	/**
+	 * @return the size of the title, (0, 0) if there is no title
+	 */
+	Point computeTitleSize() {
+		return title == null ? new Point(0, 0) : TextMetrics.extent(titleFont, title);
+	}
+
+	/**
+	 * @param label label of a button
+	 * @return the size of the button
+	 */
+	Point computeButtonSize(final String label) {
+		return new Point(buttonWidth(label), TextMetrics.extent(font, label).y + buttonTrim.y);
+	}
+
+	/**
+	 * Compute the preferred size of the content of the shell when the dialog
+	 * box is rendered with widgets: the grid of the message area (icon, title
+	 * and text with their indents), the empty bottom composite, the separator
+	 * and the buttons of the footer, stacked without spacing
+	 *
+	 * @param bottomArea <code>true</code> if the empty bottom composite of the
+	 *            message area is created
+	 * @param separatorHeight height of the separator above the footer
+	 * @return the size of the content of the shell
+	 */
+	Point computeWidgetSize(final boolean bottomArea, final int separatorHeight) {
+		final boolean hasIcon = iconSize != null;
+		final Point titleSize = computeTitleSize();
+		final Point textSize = computeTextSize();
+
+		// Message area, see MessageArea#createTitle and MessageArea#createText
+		int columnWidth = 0;
+		int columnHeight = 0;
+		if (title != null) {
+			columnWidth = (hasIcon ? MessageArea.INDENT_NO_ICON : MessageArea.DEFAULT_MARGIN) + titleSize.x;
+			columnHeight = (hasIcon ? 0 : MessageArea.DEFAULT_MARGIN) + titleSize.y;
+		}
+		if (text != null) {
+			final int indent = hasIcon ? MessageArea.INDENT_NO_ICON : MessageArea.DEFAULT_MARGIN * 2;
+			columnWidth = Math.max(columnWidth, indent + textSize.x);
+			if (title != null) {
+				columnHeight += GRID_SPACING;
+			}
+			columnHeight += (hasIcon ? 0 : title != null ? MessageArea.INDENT_NO_ICON : MessageArea.DEFAULT_MARGIN * 2) + textSize.y;
+		}
+		int width = MessageArea.DEFAULT_MARGIN * 2 + columnWidth;
+		int height = MessageArea.DEFAULT_MARGIN * 2 + (hasIcon ? Math.max(columnHeight, iconSize.y) : columnHeight);
+		if (hasIcon) {
+			width += iconSize.x + (title != null || text != null ? GRID_SPACING : 0);
+		}
+
+		if (bottomArea) {
+			height += MessageArea.DEFAULT_MARGIN * 2;
+		}
+		height += separatorHeight;
+
+		// Footer, see FooterArea#render
+		int buttonsWidth = 0;
+		int buttonsHeight = 0;
+		for (final String label : labels) {
+			final Point size = computeButtonSize(label);
+			buttonsWidth += size.x + GRID_SPACING;
+			buttonsHeight = Math.max(buttonsHeight, size.y);
+		}
+		if (labels.length > 0) {
+			buttonsWidth -= GRID_SPACING;
+		}
+		width = Math.max(width, MARGIN * 2 + buttonsWidth);
+		height += MARGIN * 2 + buttonsHeight;
+		return new Point(width, height);
+	}
+
+	/**
+	 * Compute the geometry for a width
+	 *
+	 * @param width width of the dialog box content
+	 */
+	void layout(final int width) {
+		if (width == this.width) {
+			return;
+		}
+		this.width = width;
+
+		textX = contentX();
+		titleY = MARGIN * 2;
+		int y = titleY;
+		if (title != null) {
+			y += TextMetrics.extent(titleFont, title).y + MARGIN;
+		}
+		textY = y;
+		if (text != null) {
+			textWrap = TextMetrics.wrap(font, text, Math.max(1, width - textX - MARGIN * 2));
+			y += textWrap.height;
+			lines = new String[textWrap.getLineCount()];
+			for (int i = 0; i < lines.length; i++) {
+				lines[i] = stripDelimiter(text.substring(textWrap.lineOffsets[i], textWrap.lineOffsets[i + 1]));
+			}
+		}
+		if (iconSize != null) {
+			y = Math.max(y, MARGIN + iconSize.y);
+		}
+		footerY = y + MARGIN * 2;
+
+		final int buttonHeight = TextMetrics.extent(font, "Ay").y + buttonTrim.y;
+		buttonBounds = new Rectangle[labels.length];
+		int x = width - MARGIN;
+		for (int i = labels.length - 1; i >= 0; i--) {
+			final int buttonWidth = buttonWidth(labels[i]);
+			x -= buttonWidth;
+			buttonBounds[i] = new Rectangle(x, footerY + MARGIN, buttonWidth, buttonHeight);
+			x -= BUTTON_SPACING;
+		}
+		height = labels.length == 0 ? footerY : footerY + buttonHeight + MARGIN * 2;
+	}
+
+	/**
+	 * @param line index of a line of the text
+	 * @return the content of the line
+	 */
+	String lineAt(final int line) {
+		return lines[line];
+	}
+
+	private static String stripDelimiter(final String line) {
+		int end = line.length();
+		while (end > 0 && (line.charAt(end - 1) == '\n' || line.charAt(end - 1) == '\r')) {
+			end--;
+		}
+		return line.substring(0, end);
+	}
+
+	private int preferredTextWidth() {
+		return Math.min(MAX_TEXT_WIDTH, TextMetrics.wrap(font, text, SWT.DEFAULT).width);
+	}
+
+	private int contentX() {
+		return iconSize == null ? MARGIN * 2 : MARGIN * 2 + iconSize.x;
+	}
+
+	private int buttonWidth(final String label) {
+		return Math.max(BUTTON_WIDTH, TextMetrics.extent(font, label).x + buttonTrim.x);
+	}
+}
@@ -0,0 +1,214 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Monitor;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Instances of this class compute the location of dialog boxes from cached
+ * geometry: the bounds of the monitors, read again when the display settings
+ * change, and the bounds of the shells dialog boxes are centered on, updated
+ * when they are moved or resized. The active shell is followed with
+ * activation and deactivation filters instead of being queried. Dialog boxes opened on the same
+ * area while others are still open are cascaded.
+ * <p>
+ * There is one instance per display, used in its UI thread.
+ * </p>
+ */
+class DialogPlacement {
+	private static final int CASCADE = 24;
+
+	private static final Map<Display, DialogPlacement> INSTANCES = new HashMap<>();
+
+	private final Display display;
+	private Rectangle[] monitorBounds;
+	private Rectangle[] clientAreas;
+	private int primary;
+	private final Map<Shell, Rectangle> shellBounds = new HashMap<>();
+	private Shell activeShell;
+	// Dialog boxes placed and still open, with the area they are centered on
+	private final List<Shell> placedShells = new ArrayList<>();
+	private final List<Rectangle> placedAreas = new ArrayList<>();
+
+	private DialogPlacement(final Display display) {
+		this.display = display;
+		display.addListener(SWT.Settings, e -> monitorBounds = null);
+		display.addFilter(SWT.Activate, e -> {
+			if (e.widget instanceof Shell) {
+				activeShell = (Shell) e.widget;
+				track(activeShell);
+			}
+		});
+		// No shell of the application is active once it loses the focus
+		display.addFilter(SWT.Deactivate, e -> {
+			if (e.widget == activeShell) {
+				activeShell = null;
+			}
+		});
+		final Shell shell = display.getActiveShell();
+		if (shell != null) {
+			activeShell = shell;
+			track(shell);
+		}
+	}
+
+	/**
+	 * @param display a display
+	 * @return the placement of the dialog boxes of this display
+	 */
+	static DialogPlacement get(final Display display) {
+		DialogPlacement placement = INSTANCES.get(display);
+		if (placement == null) {
+			placement = new DialogPlacement(display);
+			INSTANCES.put(display, placement);
+			display.disposeExec(() -> INSTANCES.remove(display));
+		}
+		return placement;
+	}
+
+	/**
+	 * Compute the location of a dialog box and remember it until the dialog box
+	 * is closed, so that the next ones opened on the same area are cascaded
+	 *
+	 * @param shell shell of the dialog box
+	 * @param parent shell to center the dialog box on, null to center it on the
+	 *            monitor of the active shell
+	 * @param size size of the dialog box
+	 * @return the location of the dialog box
+	 */
+	Point place(final Shell shell, final Shell parent, final Point size) {
+		final Rectangle area;
+		if (parent != null) {
+			area = getBounds(parent);
+		} else {
+			final Shell reference = activeShell != null && !activeShell.isDisposed() ? activeShell : shell;
+			final int screen = monitorOf(getBounds(reference));
+			area = monitorBounds[screen];
+		}
+
+		int cascade = 0;
+		for (final Rectangle placed : placedAreas) {
+			if (placed.equals(area)) {
+				cascade++;
+			}
+		}
+		final int monitor = monitorOf(area);
+		final Rectangle clientArea = clientAreas[monitor];
+		int x = area.x + (area.width - size.x) / 2 + cascade * CASCADE;
+		int y = area.y + (area.height - size.y) / 2 + cascade * CASCADE;
+		if (size.x <= clientArea.width) {
+			x = Math.max(clientArea.x, Math.min(x, clientArea.x + clientArea.width - size.x));
+		}
+		if (size.y <= clientArea.height) {
+			y = Math.max(clientArea.y, Math.min(y, clientArea.y + clientArea.height - size.y));
+		}
+
+		placedShells.add(shell);
+		placedAreas.add(area);
+		shell.addListener(SWT.Dispose, e -> {
+			final int index = placedShells.indexOf(shell);
+			if (index >= 0) {
+				placedShells.remove(index);
+				placedAreas.remove(index);
+			}
+		});
+		return new Point(x, y);
+	}
+
+	/**
+	 * @param shell a shell
+	 * @return the bounds of the monitor on which the shell is displayed
+	 */
+	Rectangle getMonitorBounds(final Shell shell) {
+		final int monitor = monitorOf(getBounds(shell));
+		final Rectangle bounds = monitorBounds[monitor];
+		return new Rectangle(bounds.x, bounds.y, bounds.width, bounds.height);
+	}
+
+	/**
+	 * @return the client area of the primary monitor
+	 */
+	Rectangle getPrimaryClientArea() {
+		loadMonitors();
+		final Rectangle area = clientAreas[primary];
+		return new Rectangle(area.x, area.y, area.width, area.height);
+	}
+
+	private Rectangle getBounds(final Shell shell) {
+		track(shell);
+		return shellBounds.get(shell);
+	}
+
+	/**
+	 * Keep the bounds of a shell up to date
+	 */
+	private void track(final Shell shell) {
+		if (shellBounds.containsKey(shell)) {
+			return;
+		}
+		shellBounds.put(shell, shell.getBounds());
+		shell.addListener(SWT.Move, e -> shellBounds.put(shell, shell.getBounds()));
+		shell.addListener(SWT.Resize, e -> shellBounds.put(shell, shell.getBounds()));
+		shell.addListener(SWT.Dispose, e -> {
+			shellBounds.remove(shell);
+			if (activeShell == shell) {
+				activeShell = null;
+			}
+		});
+	}
+
+	/**
+	 * @return the index of the monitor that contains most of an area, the
+	 *         primary monitor if none does
+	 */
+	private int monitorOf(final Rectangle area) {
+		loadMonitors();
+		int best = primary;
+		long bestSurface = 0;
+		for (int i = 0; i < monitorBounds.length; i++) {
+			final Rectangle intersection = monitorBounds[i].intersection(area);
+			final long surface = (long) intersection.width * intersection.height;
+			if (surface > bestSurface) {
+				best = i;
+				bestSurface = surface;
+			}
+		}
+		return best;
+	}
+
+	private void loadMonitors() {
+		if (monitorBounds != null) {
+			return;
+		}
+		final Monitor[] monitors = display.getMonitors();
+		final Monitor primaryMonitor = display.getPrimaryMonitor();
+		final Rectangle[] bounds = new Rectangle[monitors.length];
+		clientAreas = new Rectangle[monitors.length];
+		primary = 0;
+		for (int i = 0; i < monitors.length; i++) {
+			bounds[i] = monitors[i].getBounds();
+			clientAreas[i] = monitors[i].getClientArea();
+			if (monitors[i].equals(primaryMonitor)) {
+				primary = i;
+			}
+		}
+		monitorBounds = bounds;
+	}
+}
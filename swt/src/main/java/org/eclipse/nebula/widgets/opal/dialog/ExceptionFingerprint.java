@@ -0,0 +1,51 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+/**
+ * This class computes fingerprints of exceptions. Two exceptions have the same
+ * fingerprint when they have the same class, the same top frames and the same
+ * chain of causes. The message is ignored and the trace is never formatted.
+ */
+public class ExceptionFingerprint {
+	private static final int TOP_FRAMES = 5;
+	private static final int MAX_CAUSES = 8;
+
+	private static final long OFFSET = 0xcbf29ce484222325L;
+	private static final long PRIME = 0x100000001b3L;
+
+	/**
+	 * @param exception exception
+	 * @return the fingerprint of the exception
+	 */
+	public static long of(final Throwable exception) {
+		long hash = OFFSET;
+		Throwable current = exception;
+		for (int depth = 0; current != null && depth < MAX_CAUSES; depth++) {
+			hash = mix(hash, current.getClass().getName().hashCode());
+			final StackTraceElement[] trace = current.getStackTrace();
+			final int frames = Math.min(TOP_FRAMES, trace.length);
+			for (int i = 0; i < frames; i++) {
+				hash = mix(hash, trace[i].getClassName().hashCode());
+				hash = mix(hash, trace[i].getMethodName().hashCode());
+				hash = mix(hash, trace[i].getLineNumber());
+			}
+			if (current.getCause() == current) {
+				break;
+			}
+			current = current.getCause();
+		}
+		return hash;
+	}
+
+	private static long mix(final long hash, final int value) {
+		return (hash ^ value) * PRIME;
+	}
+}
@@ -0,0 +1,153 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.dnd.Clipboard;
+import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+
+/**
+ * Instances of this class display an exception as a virtual tree of
+ * {@link StackTraceNode}. Only the root is created at first, the causes, the
+ * suppressed exceptions and the frames are created when their parent is
+ * expanded, and an item gets its label when it becomes visible. The copy button
+ * formats the whole trace outside of the UI thread.
+ */
+class ExceptionViewer extends Composite {
+	private static final int VISIBLE_ROWS = 12;
+
+	private final Throwable exception;
+	private final StackTraceNode root;
+	private final Tree tree;
+	private final Label occurrenceLabel;
+	private final Button copy;
+	private MessageFormat occurrenceFormat;
+
+	/**
+	 * Constructor
+	 *
+	 * @param parent parent composite
+	 * @param exception exception to display
+	 */
+	ExceptionViewer(final Composite parent, final Throwable exception) {
+		super(parent, SWT.NONE);
+		this.exception = exception;
+		root = StackTraceNode.of(exception);
+
+		final GridLayout gridLayout = new GridLayout(2, false);
+		gridLayout.marginHeight = gridLayout.marginWidth = 0;
+		setLayout(gridLayout);
+
+		tree = new Tree(this, SWT.VIRTUAL | SWT.SINGLE | SWT.BORDER | SWT.H_SCROLL | SWT.V_SCROLL);
+		final GridData gd = new GridData(GridData.FILL, GridData.FILL, true, true, 2, 1);
+		gd.heightHint = tree.getItemHeight() * VISIBLE_ROWS;
+		tree.setLayoutData(gd);
+		tree.addListener(SWT.SetData, this::setData);
+		tree.addListener(SWT.Expand, this::expand);
+		tree.setItemCount(1);
+
+		occurrenceLabel = new Label(this, SWT.NONE);
+		occurrenceLabel.setLayoutData(new GridData(GridData.FILL, GridData.CENTER, true, false));
+
+		copy = new Button(this, SWT.PUSH);
+		copy.setText(ResourceManager.getLabel(ResourceManager.COPY_INDEX));
+		copy.setLayoutData(new GridData(GridData.END, GridData.CENTER, false, false));
+		copy.addListener(SWT.Selection, e -> copyToClipboard());
+
+		// The root is expanded to show the first frames, as the text did
+		tree.getItem(0).setExpanded(true);
+		expand(tree.getItem(0));
+	}
+
+	/**
+	 * Display how many times the exception occurred
+	 *
+	 * @param occurrences number of occurrences
+	 * @param last time of the last occurrence, in milliseconds
+	 */
+	void setOccurrences(final int occurrences, final long last) {
+		if (occurrenceFormat == null) {
+			// Parsed once, the label is updated each time the exception occurs again
+			occurrenceFormat = new MessageFormat(ResourceManager.getLabel(ResourceManager.OCCURRENCES_INDEX), ResourceManager.getLocale());
+		}
+		occurrenceLabel.setText(occurrenceFormat.format(new Object[] { occurrences, new Date(last) }));
+		layout(new Control[] { occurrenceLabel });
+	}
+
+	private void setData(final Event event) {
+		final TreeItem item = (TreeItem) event.item;
+		final StackTraceNode node = nodeOf(item);
+		item.setText(node.getLabel());
+		// A single placeholder child shows the expand button without creating
+		// the children of the node
+		item.setItemCount(node.hasChildren() ? 1 : 0);
+	}
+
+	private void expand(final Event event) {
+		expand((TreeItem) event.item);
+	}
+
+	private void expand(final TreeItem item) {
+		final StackTraceNode node = nodeOf(item);
+		item.setText(node.getLabel());
+		item.setItemCount(node.getChildren().size());
+		item.clearAll(true);
+	}
+
+	private StackTraceNode nodeOf(final TreeItem item) {
+		StackTraceNode node = (StackTraceNode) item.getData();
+		if (node == null) {
+			final TreeItem parentItem = item.getParentItem();
+			if (parentItem == null) {
+				node = root;
+			} else {
+				final List<StackTraceNode> siblings = nodeOf(parentItem).getChildren();
+				node = siblings.get(parentItem.indexOf(item));
+			}
+			item.setData(node);
+		}
+		return node;
+	}
+
+	private void copyToClipboard() {
+		final Display display = getDisplay();
+		copy.setEnabled(false);
+		DialogExecutor.submit(() -> {
+			final String text = StringUtil.stackStraceAsString(exception);
+			if (display.isDisposed()) {
+				return;
+			}
+			display.asyncExec(() -> {
+				if (isDisposed()) {
+					return;
+				}
+				final Clipboard clipboard = new Clipboard(display);
+				clipboard.setContents(new Object[] { text }, new Transfer[] { TextTransfer.getInstance() });
+				clipboard.dispose();
+				copy.setEnabled(true);
+			});
+		});
+	}
+}
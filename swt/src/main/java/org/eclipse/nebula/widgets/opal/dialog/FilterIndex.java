@@ -0,0 +1,149 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Instances of this class are immutable trigram indexes over a set of texts.
+ * The texts containing a query of at least three characters are found by
+ * intersecting the sorted lists of texts containing each trigram of the query,
+ * so only those candidates need to be checked.
+ */
+class FilterIndex {
+	static final int GRAM = 3;
+	private static final int[] EMPTY = new int[0];
+
+	private final String[] keys;
+	private final Map<Long, int[]> postings;
+
+	/**
+	 * Constructor
+	 *
+	 * @param texts texts to index
+	 */
+	FilterIndex(final String[] texts) {
+		keys = new String[texts.length];
+		final Map<Long, Postings> lists = new HashMap<>();
+		for (int i = 0; i < texts.length; i++) {
+			keys[i] = texts[i] == null ? "" : texts[i].toLowerCase(Locale.ROOT);
+			for (int j = 0; j + GRAM <= keys[i].length(); j++) {
+				lists.computeIfAbsent(gram(keys[i], j), gram -> new Postings()).add(i);
+			}
+		}
+
+		postings = new HashMap<>(lists.size() * 2);
+		for (final Map.Entry<Long, Postings> entry : lists.entrySet()) {
+			postings.put(entry.getKey(), entry.getValue().toArray());
+		}
+	}
+
+	/**
+	 * Build an index outside of the UI thread
+	 *
+	 * @param texts texts to index
+	 * @return a future completed with the index
+	 */
+	static CompletableFuture<FilterIndex> build(final String[] texts) {
+		final CompletableFuture<FilterIndex> future = new CompletableFuture<>();
+		DialogExecutor.submit(() -> {
+			try {
+				future.complete(new FilterIndex(texts));
+			} catch (final RuntimeException e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * @param index index of a text
+	 * @return the lower case text
+	 */
+	String keyAt(final int index) {
+		return keys[index];
+	}
+
+	/**
+	 * @return the number of indexed texts
+	 */
+	int size() {
+		return keys.length;
+	}
+
+	/**
+	 * Find the texts that may contain a query
+	 *
+	 * @param key lower case query of at least three characters
+	 * @return the sorted indexes of the texts containing all trigrams of the query
+	 */
+	int[] candidates(final String key) {
+		int[] result = null;
+		for (int j = 0; j + GRAM <= key.length(); j++) {
+			final int[] list = postings.get(gram(key, j));
+			if (list == null) {
+				return EMPTY;
+			}
+			result = result == null ? list : intersect(result, list);
+			if (result.length == 0) {
+				return EMPTY;
+			}
+		}
+		return result;
+	}
+
+	private static int[] intersect(final int[] a, final int[] b) {
+		final int[] result = new int[Math.min(a.length, b.length)];
+		int i = 0, j = 0, count = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				result[count++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Growable sorted list of text indexes
+	 */
+	private static class Postings {
+		private int[] indexes = new int[4];
+		private int size;
+
+		void add(final int index) {
+			if (size > 0 && indexes[size - 1] == index) {
+				// Same trigram repeated in the same text
+				return;
+			}
+			if (size == indexes.length) {
+				indexes = Arrays.copyOf(indexes, size * 2);
+			}
+			indexes[size++] = index;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(indexes, size);
+		}
+	}
+
+	private static Long gram(final String key, final int start) {
+		return Long.valueOf(((long) key.charAt(start) << 32) | ((long) key.charAt(start + 1) << 16) | key.charAt(start + 2));
+	}
+}
@@ -26,17 +26,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 //import org.eclipse.nebula.widgets.opal.commons.ResourceManager;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
-import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
@@ -50,6 +51,8 @@ import org.eclipse.swt.widgets.ToolItem;
 public class FooterArea extends DialogArea {
 	private static final int BUTTON_WIDTH = 70;
 	private Image icon;
+	private CompletableFuture<IconLoader.Icon> loadedIcon;
+	private int loadedIconSize;
 	private String footerText;
 
 	private List<String> buttonLabels;
@@ -75,6 +78,8 @@ public class FooterArea extends DialogArea {
 	private ToolBar toolbar;
 
 	private List<FooterAction> footerActions = new ArrayList<>();
+	private final List<Button> buttons = new ArrayList<>();
+	private Label separator;
 
 	/**
 	 * Constructor
@@ -84,8 +89,8 @@ public class FooterArea extends DialogArea {
 	public FooterArea(final Dialog parent) {
 		super(parent);
 		selectedButtonIndex = -1;
-		expandedLabelText = ResourceManager.getLabel(ResourceManager.FEWER_DETAILS);
-		collapsedLabelText = ResourceManager.getLabel(ResourceManager.MORE_DETAILS);
+		expandedLabelText = ResourceManager.getLabel(ResourceManager.FEWER_DETAILS_INDEX);
+		collapsedLabelText = ResourceManager.getLabel(ResourceManager.MORE_DETAILS_INDEX);
 		timer = -1;
 		timerIndexButton = -1;
 	}
@@ -167,11 +172,17 @@ public class FooterArea extends DialogArea {
 		for (int i = 0; i < buttonLabels.size(); i++) {
 			final Button button = new Button(composite, SWT.PUSH);
 			button.setText(buttonLabels.get(i));
+			buttons.add(button);
+			if (i == 0 && !parent.getMessageArea().getInputValidation().isValid()) {
+				// The text box is rendered first, its value is being validated
+				button.setEnabled(false);
+			}
 
 			final GridData gd = new GridData(GridData.END, GridData.CENTER, i == 0, false);
-			final int defaultWidth = button.computeSize(SWT.DEFAULT, SWT.DEFAULT).x;
+			final int defaultWidth = buttonWidth(button);
 			gd.minimumWidth = Math.max(BUTTON_WIDTH, defaultWidth);
 			gd.widthHint = Math.max(BUTTON_WIDTH, defaultWidth);
+			gd.heightHint = TextMetrics.extent(button.getFont(), button.getText()).y + TextMetrics.buttonTrim(button).y;
 			button.setLayoutData(gd);
 
 			if (i == defaultButtonIndex) {
@@ -180,53 +191,70 @@ public class FooterArea extends DialogArea {
 
 			final Integer integer = Integer.valueOf(i);
 			button.addListener(SWT.Selection, e -> {
-				FooterArea.this.parent.shell.dispose();
-				selectedButtonIndex = integer.intValue();
+				FooterArea.this.parent.select(integer.intValue());
 			});
 
 			if (i == timerIndexButton && timer != -1) {
 				disabledButton = button;
 				button.setData(button.getText());
+				// The button is sized once for the widest label of the countdown
+				final int countdownWidth = countdownWidth(button);
+				gd.minimumWidth = Math.max(gd.minimumWidth, countdownWidth);
+				gd.widthHint = Math.max(gd.widthHint, countdownWidth);
 				button.setText(button.getText() + " (" + timer + ")");
 				button.setEnabled(false);
-				final int newWidth = button.computeSize(SWT.DEFAULT, SWT.DEFAULT).x;
-				gd.minimumWidth = Math.max(BUTTON_WIDTH, newWidth);
-				gd.widthHint = Math.max(BUTTON_WIDTH, newWidth);
-				button.getParent().layout(new Control[] { button });
 			}
 
 		}
 
 		if (timerIndexButton != -1 && timer != -1) {
-			Display.getCurrent().timerExec(1000, new Runnable() {
-
-				@Override
-				public void run() {
-					timer--;
-					if (disabledButton.isDisposed()) {
-						return;
-					}
-
-					if (timer == 0) {
-						disabledButton.setText((String) disabledButton.getData());
-						disabledButton.setEnabled(true);
-					} else {
-						disabledButton.setText(disabledButton.getData() + " (" + timer + ")");
-						final GridData gd = (GridData) disabledButton.getLayoutData();
-						final int defaultWidth = disabledButton.computeSize(SWT.DEFAULT, SWT.DEFAULT).x;
-						gd.minimumWidth = Math.max(BUTTON_WIDTH, defaultWidth);
-						gd.widthHint = Math.max(BUTTON_WIDTH, defaultWidth);
-						disabledButton.getParent().layout(new Control[] { disabledButton });
-						Display.getCurrent().timerExec(1000, this);
-					}
+			CountdownScheduler.add(() -> {
+				timer--;
+				if (disabledButton.isDisposed()) {
+					return false;
+				}
 
+				if (timer == 0) {
+					disabledButton.setText((String) disabledButton.getData());
+					disabledButton.setEnabled(true);
+					return false;
 				}
+				disabledButton.setText(disabledButton.getData() + " (" + timer + ")");
+				return true;
 			});
 		}
 
 		parent.shell.setDefaultButton(defaultButton);
 	}
 
+	/**
+	 * @return the preferred width of a button, computed from the cached size of
+	 *         its label instead of measuring the button
+	 */
+	private static int buttonWidth(final Button button) {
+		return TextMetrics.extent(button.getFont(), button.getText()).x + TextMetrics.buttonTrim(button).x;
+	}
+
+	/**
+	 * @return the width of the widest label "label (n)" displayed by the
+	 *         countdown of a button, n going from the timer to 1
+	 */
+	private int countdownWidth(final Button button) {
+		// Labels with the same number of digits are at most as wide as the one
+		// made of the widest digit
+		char widestDigit = '0';
+		for (char digit = '1'; digit <= '9'; digit++) {
+			if (TextMetrics.extent(button.getFont(), String.valueOf(digit)).x > TextMetrics.extent(button.getFont(), String.valueOf(widestDigit)).x) {
+				widestDigit = digit;
+			}
+		}
+		final StringBuilder digits = new StringBuilder();
+		for (int i = 0; i < String.valueOf(timer).length(); i++) {
+			digits.append(widestDigit);
+		}
+		return TextMetrics.extent(button.getFont(), button.getText() + " (" + digits + ")").x + TextMetrics.buttonTrim(button).x;
+	}
+
 	/**
 	 * Create the details section
 	 *
@@ -258,14 +286,17 @@ public class FooterArea extends DialogArea {
 					detailsItem.setText(collapsedLabelText);
 					detailsItem.setImage(FooterArea.this.getMoreDetailsImage());
 
-					expandedPanel.dispose();
-					FooterArea.this.parent.pack();
+					FooterArea.this.parent.hideControl(expandedPanel);
 				} else {
 					detailsItem.setText(expandedLabelText);
 					detailsItem.setImage(FooterArea.this.getFewerDetailsImage());
 
-					FooterArea.this.createExpandedPanel(numberOfColumnsParam);
-					FooterArea.this.parent.pack();
+					if (expandedPanel == null) {
+						FooterArea.this.createExpandedPanel(numberOfColumnsParam);
+						FooterArea.this.parent.pack();
+					} else {
+						FooterArea.this.parent.showControl(expandedPanel);
+					}
 				}
 			}
 		};
@@ -318,12 +349,16 @@ public class FooterArea extends DialogArea {
 		informationComposite.setLayoutData(new GridData(GridData.FILL, GridData.FILL, false, false));
 		informationComposite.setBackground(getGreyColor());
 
-		informationComposite.setLayout(new GridLayout(icon == null ? 1 : 2, false));
+		final Image image = loadedIcon == null ? icon : IconLoader.createImage(parent.shell, loadedIcon, loadedIconSize, loaded -> {
+			// Replaces the placeholder, the label of the icon is the first child
+			((Label) informationComposite.getChildren()[0]).setImage(loaded);
+		});
+		informationComposite.setLayout(new GridLayout(image == null ? 1 : 2, false));
 
-		if (icon != null) {
+		if (image != null) {
 			final Label labelIcon = new Label(informationComposite, SWT.NONE);
 			labelIcon.setBackground(getGreyColor());
-			labelIcon.setImage(icon);
+			labelIcon.setImage(image);
 			labelIcon.setLayoutData(new GridData(GridData.CENTER, GridData.CENTER, false, false));
 		}
 		final Label labelText = new Label(informationComposite, SWT.NONE);
@@ -346,10 +381,31 @@ public class FooterArea extends DialogArea {
 		expandedPanel.setLayoutData(gd);
 	}
 
+	/**
+	 * @return <code>true</code> if the footer only displays buttons
+	 */
+	boolean isPlain() {
+		return !details && footerActions.isEmpty() && checkBoxLabel == null && footerText == null && (timer == -1 || timerIndexButton == -1);
+	}
+
+	/**
+	 * @return <code>true</code> if the footer has a details section
+	 */
+	boolean hasDetails() {
+		return details;
+	}
+
 	/**
 	 * Create a separator
 	 */
 	private void createSeparator() {
+		if (parent.isLazyRender()) {
+			separator = new Label(parent.shell, SWT.SEPARATOR | SWT.HORIZONTAL);
+			separator.setBackground(getGreyColor());
+			separator.setLayoutData(new GridData(GridData.FILL, GridData.FILL, true, false));
+			return;
+		}
+
 		final Composite c = new Composite(parent.shell, SWT.NONE);
 		c.setLayoutData(new GridData(GridData.FILL, GridData.FILL, true, false));
 		c.setBackground(getGreyColor());
@@ -358,10 +414,25 @@ public class FooterArea extends DialogArea {
 		gridLayout.marginHeight = gridLayout.marginWidth = 0;
 		c.setLayout(gridLayout);
 
-		final Label separator = new Label(c, SWT.SEPARATOR | SWT.HORIZONTAL);
+		separator = new Label(c, SWT.SEPARATOR | SWT.HORIZONTAL);
 		separator.setLayoutData(new GridData(GridData.FILL, GridData.FILL, true, false));
 	}
 
+	/**
+	 * @return the space taken by a button around its label, (0, 0) if there is
+	 *         no button
+	 */
+	Point getButtonTrim() {
+		return buttons.isEmpty() ? new Point(0, 0) : TextMetrics.buttonTrim(buttons.get(0));
+	}
+
+	/**
+	 * @return the height of the separator above the buttons
+	 */
+	int getSeparatorHeight() {
+		return separator == null ? 0 : TextMetrics.separatorHeight(separator);
+	}
+
 	// ------------------------------------------- Getters & Setters
 
 	/**
@@ -377,6 +448,24 @@ public class FooterArea extends DialogArea {
 	 */
 	public FooterArea setIcon(final Image icon) {
 		this.icon = icon;
+		loadedIcon = null;
+		setInitialised(true);
+		return this;
+	}
+
+	/**
+	 * Display an icon decoded outside of the UI thread. If it is not decoded
+	 * when the footer is rendered, a blank placeholder of the same size is
+	 * displayed until it is ready
+	 *
+	 * @param source path of the file or class path resource of the icon
+	 * @param size width and height of the icon
+	 * @return this footer area
+	 */
+	public FooterArea setIcon(final String source, final int size) {
+		icon = null;
+		loadedIcon = IconLoader.load(source, size, IconLoader.getZoom(Display.getCurrent()));
+		loadedIconSize = size;
 		setInitialised(true);
 		return this;
 	}
@@ -437,6 +526,20 @@ public class FooterArea extends DialogArea {
 		return this;
 	}
 
+	/**
+	 * Enable or disable a button once the footer is rendered
+	 *
+	 * @param index index of the button
+	 * @param enabled <code>true</code> to enable the button
+	 * @return this footer area
+	 */
+	public FooterArea setButtonEnabled(final int index, final boolean enabled) {
+		if (index >= 0 && index < buttons.size() && !buttons.get(index).isDisposed()) {
+			buttons.get(index).setEnabled(enabled);
+		}
+		return this;
+	}
+
 	/**
 	 * @return the default button index
 	 */
@@ -0,0 +1,340 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+
+/**
+ * This class turns a text marked up with a subset of HTML into a plain text and
+ * the styles of its ranges, in a single pass over the text. The supported tags
+ * are <code>&lt;b&gt;</code>, <code>&lt;strong&gt;</code>,
+ * <code>&lt;i&gt;</code>, <code>&lt;em&gt;</code>, <code>&lt;u&gt;</code>,
+ * <code>&lt;a href="..."&gt;</code> and <code>&lt;br&gt;</code>, as well as
+ * the entities <code>&amp;lt;</code>, <code>&amp;gt;</code>,
+ * <code>&amp;amp;</code>, <code>&amp;quot;</code>, <code>&amp;apos;</code>,
+ * <code>&amp;nbsp;</code> and numeric entities. Other tags are removed, and a
+ * <code>&lt;</code> that does not start a tag is kept as is.
+ * <p>
+ * The results are kept by text, so that a text displayed again is not parsed
+ * again. This class can be used from any thread.
+ * </p>
+ */
+class HTMLFormatter {
+	// Total length of the texts kept, in characters
+	private static final int MAX_CACHED_CHARS = 1 << 21;
+
+	private static final int BOLD = 1;
+	private static final int ITALIC = 2;
+	private static final int UNDERLINE = 4;
+
+	private static final Map<String, Result> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+	private static int cachedChars;
+
+	/**
+	 * Text without markup and styles of its ranges, in the compact form of
+	 * {@link org.eclipse.swt.custom.StyledText#setStyleRanges(int[], StyleRange[])}
+	 */
+	static class Result {
+		final String text;
+		// Start and length of each range
+		final int[] ranges;
+		final StyleRange[] styles;
+		private final boolean plain;
+
+		private Result(final String text, final int[] ranges, final StyleRange[] styles, final boolean plain) {
+			this.text = text;
+			this.ranges = ranges;
+			this.styles = styles;
+			this.plain = plain;
+		}
+
+		/**
+		 * @return <code>true</code> if the text has no markup at all
+		 */
+		boolean isPlain() {
+			return plain;
+		}
+	}
+
+	/**
+	 * @param html text marked up with the supported subset of HTML
+	 * @return the plain text and its styles, shared by all the callers
+	 */
+	static Result format(final String html) {
+		synchronized (CACHE) {
+			final Result result = CACHE.get(html);
+			if (result != null) {
+				return result;
+			}
+		}
+		final Result result = new Parser(html).parse();
+		if (html.length() <= MAX_CACHED_CHARS / 4) {
+			synchronized (CACHE) {
+				if (CACHE.put(html, result) == null) {
+					cachedChars += html.length();
+				}
+				final Iterator<Map.Entry<String, Result>> it = CACHE.entrySet().iterator();
+				while (cachedChars > MAX_CACHED_CHARS && it.hasNext()) {
+					cachedChars -= it.next().getKey().length();
+					it.remove();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * State of a single parse
+	 */
+	private static class Parser {
+		private final String html;
+		private final StringBuilder text;
+		// Style of each combination of BOLD, ITALIC and UNDERLINE, created on demand
+		private final StyleRange[] plainStyles = new StyleRange[8];
+		private final List<StyleRange> styles = new ArrayList<>();
+		private int[] ranges = new int[16];
+
+		private int bold;
+		private int italic;
+		private int underline;
+		private String href;
+
+		private StyleRange current;
+		private int currentStart;
+		// Index of the next '>' found, -1 if there is none after it, so that the
+		// text is searched only once even with many '<' that do not start tags
+		private int nextTagEnd = -2;
+
+		Parser(final String html) {
+			this.html = html;
+			text = new StringBuilder(html.length());
+		}
+
+		Result parse() {
+			final int length = html.length();
+			int i = 0;
+			while (i < length) {
+				// Copy the characters up to the next markup at once
+				int next = i;
+				char c = 0;
+				while (next < length && (c = html.charAt(next)) != '<' && c != '&') {
+					next++;
+				}
+				text.append(html, i, next);
+				if (next == length) {
+					break;
+				}
+				i = c == '<' ? tag(next) : entity(next);
+			}
+			closeRange();
+
+			if (styles.isEmpty() && text.length() == length) {
+				// Removing markup always shortens the text
+				return new Result(html, new int[0], new StyleRange[0], true);
+			}
+			final int[] compact = new int[styles.size() * 2];
+			System.arraycopy(ranges, 0, compact, 0, compact.length);
+			return new Result(text.toString(), compact, styles.toArray(new StyleRange[0]), false);
+		}
+
+		/**
+		 * @param start index of the '&lt;'
+		 * @return index of the first character after the tag
+		 */
+		private int tag(final int start) {
+			final int length = html.length();
+			final boolean closing = start + 1 < length && html.charAt(start + 1) == '/';
+			final int nameStart = closing ? start + 2 : start + 1;
+			int nameEnd = nameStart;
+			while (nameEnd < length && Character.isLetter(html.charAt(nameEnd))) {
+				nameEnd++;
+			}
+			final int end = nameEnd == nameStart ? -1 : tagEnd(nameEnd);
+			if (end == -1) {
+				// Not a tag
+				text.append('<');
+				return start + 1;
+			}
+
+			final int delta = closing ? -1 : 1;
+			if (is("b", nameStart, nameEnd) || is("strong", nameStart, nameEnd)) {
+				closeRange();
+				bold = Math.max(0, bold + delta);
+			} else if (is("i", nameStart, nameEnd) || is("em", nameStart, nameEnd)) {
+				closeRange();
+				italic = Math.max(0, italic + delta);
+			} else if (is("u", nameStart, nameEnd)) {
+				closeRange();
+				underline = Math.max(0, underline + delta);
+			} else if (is("a", nameStart, nameEnd)) {
+				closeRange();
+				href = closing ? null : attribute("href", nameEnd, end);
+			} else {
+				if (is("br", nameStart, nameEnd)) {
+					text.append('\n');
+				}
+				return end + 1;
+			}
+			current = style();
+			return end + 1;
+		}
+
+		private int tagEnd(final int from) {
+			if (nextTagEnd != -1 && nextTagEnd < from) {
+				nextTagEnd = html.indexOf('>', from);
+			}
+			return nextTagEnd;
+		}
+
+		private boolean is(final String name, final int start, final int end) {
+			return end - start == name.length() && html.regionMatches(true, start, name, 0, name.length());
+		}
+
+		/**
+		 * @return the value of an attribute of a tag, an empty string if the tag
+		 *         does not have it
+		 */
+		private String attribute(final String name, final int start, final int end) {
+			for (int i = start; i + name.length() < end; i++) {
+				if (!html.regionMatches(true, i, name, 0, name.length())) {
+					continue;
+				}
+				int value = i + name.length();
+				while (value < end && html.charAt(value) == ' ') {
+					value++;
+				}
+				if (value == end || html.charAt(value) != '=') {
+					continue;
+				}
+				value++;
+				while (value < end && html.charAt(value) == ' ') {
+					value++;
+				}
+				if (value < end && (html.charAt(value) == '"' || html.charAt(value) == '\'')) {
+					int quote = value + 1;
+					while (quote < end && html.charAt(quote) != html.charAt(value)) {
+						quote++;
+					}
+					return html.substring(value + 1, quote);
+				}
+				int valueEnd = value;
+				while (valueEnd < end && html.charAt(valueEnd) != ' ') {
+					valueEnd++;
+				}
+				return html.substring(value, valueEnd);
+			}
+			return "";
+		}
+
+		/**
+		 * @param start index of the '&amp;'
+		 * @return index of the first character after the entity
+		 */
+		private int entity(final int start) {
+			int end = start + 1;
+			while (end < html.length() && end - start <= 10 && html.charAt(end) != ';') {
+				end++;
+			}
+			if (end == html.length() || html.charAt(end) != ';') {
+				text.append('&');
+				return start + 1;
+			}
+			if (html.startsWith("lt", start + 1) && end == start + 3) {
+				text.append('<');
+			} else if (html.startsWith("gt", start + 1) && end == start + 3) {
+				text.append('>');
+			} else if (html.startsWith("amp", start + 1) && end == start + 4) {
+				text.append('&');
+			} else if (html.startsWith("quot", start + 1) && end == start + 5) {
+				text.append('"');
+			} else if (html.startsWith("apos", start + 1) && end == start + 5) {
+				text.append('\'');
+			} else if (html.startsWith("nbsp", start + 1) && end == start + 5) {
+				text.append(' ');
+			} else if (start + 2 < end && html.charAt(start + 1) == '#') {
+				final boolean hex = html.charAt(start + 2) == 'x' || html.charAt(start + 2) == 'X';
+				int codePoint = 0;
+				for (int i = hex ? start + 3 : start + 2; i < end && codePoint >= 0; i++) {
+					final int digit = Character.digit(html.charAt(i), hex ? 16 : 10);
+					codePoint = digit < 0 || codePoint > Character.MAX_CODE_POINT ? -1 : codePoint * (hex ? 16 : 10) + digit;
+				}
+				if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT || hex && end == start + 3) {
+					text.append('&');
+					return start + 1;
+				}
+				text.appendCodePoint(codePoint);
+			} else {
+				text.append('&');
+				return start + 1;
+			}
+			return end + 1;
+		}
+
+		/**
+		 * Add the range styled with the current style, if any, and start a new
+		 * range. Called before the style changes.
+		 */
+		private void closeRange() {
+			if (current != null && text.length() > currentStart) {
+				final int count = styles.size();
+				if (count > 0 && styles.get(count - 1) == current && ranges[count * 2 - 2] + ranges[count * 2 - 1] == currentStart) {
+					// Same style as the previous range, as in <b>a</b><b>b</b>
+					ranges[count * 2 - 1] += text.length() - currentStart;
+				} else {
+					if (ranges.length < count * 2 + 2) {
+						final int[] grown = new int[ranges.length * 2];
+						System.arraycopy(ranges, 0, grown, 0, ranges.length);
+						ranges = grown;
+					}
+					ranges[count * 2] = currentStart;
+					ranges[count * 2 + 1] = text.length() - currentStart;
+					styles.add(current);
+				}
+			}
+			currentStart = text.length();
+		}
+
+		/**
+		 * @return the style of the text at the current position, null if it is not
+		 *         styled
+		 */
+		private StyleRange style() {
+			final int flags = (bold > 0 ? BOLD : 0) | (italic > 0 ? ITALIC : 0) | (underline > 0 ? UNDERLINE : 0);
+			if (href != null) {
+				final StyleRange link = createStyle(flags);
+				link.underline = true;
+				link.underlineStyle = SWT.UNDERLINE_LINK;
+				link.data = href;
+				return link;
+			}
+			if (flags == 0) {
+				return null;
+			}
+			if (plainStyles[flags] == null) {
+				plainStyles[flags] = createStyle(flags);
+			}
+			return plainStyles[flags];
+		}
+
+		private StyleRange createStyle(final int flags) {
+			final StyleRange style = new StyleRange();
+			style.fontStyle = ((flags & BOLD) != 0 ? SWT.BOLD : SWT.NORMAL) | ((flags & ITALIC) != 0 ? SWT.ITALIC : SWT.NORMAL);
+			style.underline = (flags & UNDERLINE) != 0;
+			return style;
+		}
+	}
+}
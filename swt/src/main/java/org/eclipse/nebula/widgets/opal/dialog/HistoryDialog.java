@@ -0,0 +1,164 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+
+/**
+ * Instances of this class are windows that display a
+ * {@link NotificationHistory}, the most recent notification first, in a
+ * virtual table: only the visible rows are filled. The search box filters the
+ * notifications whose title or text contains the query as the user types, and
+ * the full text of the selected notification is displayed below the table.
+ * <p>
+ * The window shows the notifications kept when it was opened.
+ * </p>
+ */
+public class HistoryDialog {
+	private final Shell shell;
+	private final NotificationHistory history;
+	private final DateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+
+	// Ids of all the notifications, most recent first, and of those displayed
+	private long[] ids;
+	private long[] rows;
+	private TypeAheadFilter filter;
+
+	private Table table;
+	private ReadOnlyStyledText details;
+
+	/**
+	 * Constructor
+	 *
+	 * @param parent parent shell, may be null
+	 * @param history history to display
+	 */
+	public HistoryDialog(final Shell parent, final NotificationHistory history) {
+		this.history = history;
+		shell = parent == null ? new Shell(Display.getCurrent(), SWT.DIALOG_TRIM | SWT.RESIZE) : new Shell(parent, SWT.DIALOG_TRIM | SWT.RESIZE);
+		shell.setText(ResourceManager.getLabel(ResourceManager.HISTORY_INDEX));
+	}
+
+	/**
+	 * Open the window without waiting for it to be closed
+	 */
+	public void open() {
+		snapshot();
+
+		shell.setLayout(new GridLayout(1, false));
+		final Text search = new Text(shell, SWT.SEARCH | SWT.ICON_SEARCH | SWT.ICON_CANCEL);
+		search.setMessage(ResourceManager.getLabel(ResourceManager.SEARCH_INDEX));
+		search.setLayoutData(new GridData(GridData.FILL, GridData.CENTER, true, false));
+		search.addListener(SWT.Modify, e -> {
+			final int[] matches = filter.apply(search.getText());
+			if (matches == null) {
+				rows = ids;
+			} else {
+				rows = new long[matches.length];
+				for (int i = 0; i < matches.length; i++) {
+					rows[i] = ids[matches[i]];
+				}
+			}
+			table.setItemCount(rows.length);
+			table.clearAll();
+			details.setText("");
+		});
+
+		table = new Table(shell, SWT.VIRTUAL | SWT.BORDER | SWT.FULL_SELECTION | SWT.SINGLE);
+		table.setHeaderVisible(true);
+		table.setLinesVisible(true);
+		createColumn(ResourceManager.TIME_INDEX, 80);
+		createColumn(ResourceManager.TITLE_INDEX, 150);
+		createColumn(ResourceManager.MESSAGE_INDEX, 300);
+		createColumn(ResourceManager.ANSWER_INDEX, 100);
+		table.addListener(SWT.SetData, e -> fill((TableItem) e.item, e.index));
+		table.addListener(SWT.Selection, e -> {
+			final int index = table.getSelectionIndex();
+			final String text = index < 0 ? null : history.getText(rows[index]);
+			SWTGraphicUtil.applyHTMLFormating(details, text == null ? "" : text);
+		});
+		table.setItemCount(rows.length);
+		final GridData tableData = new GridData(GridData.FILL, GridData.FILL, true, true);
+		tableData.heightHint = 250;
+		table.setLayoutData(tableData);
+
+		details = new ReadOnlyStyledText(shell, SWT.BORDER | SWT.V_SCROLL);
+		final GridData detailsData = new GridData(GridData.FILL, GridData.FILL, true, false);
+		detailsData.heightHint = 80;
+		details.setLayoutData(detailsData);
+
+		shell.pack();
+		shell.open();
+	}
+
+	private void snapshot() {
+		final long first = history.getFirstId();
+		final long next = history.getNextId();
+		ids = new long[(int) (next - first)];
+		final String[] texts = new String[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = next - 1 - i;
+			final String title = history.getTitle(ids[i]);
+			final String text = plain(history.getText(ids[i]));
+			texts[i] = StringUtil.isEmpty(title) ? text : title + "\n" + text;
+		}
+		rows = ids;
+		filter = new TypeAheadFilter(texts, false);
+	}
+
+	private void createColumn(final int label, final int width) {
+		final TableColumn column = new TableColumn(table, SWT.NONE);
+		column.setText(ResourceManager.getLabel(label));
+		column.setWidth(width);
+	}
+
+	private void fill(final TableItem item, final int row) {
+		final long id = rows[row];
+		final String title = history.getTitle(id);
+		final String text = plain(history.getText(id));
+		final String[] buttons = history.getButtonLabels(id);
+		final int answer = history.getAnswer(id);
+
+		item.setText(0, timeFormat.format(new Date(history.getShownAt(id))));
+		item.setText(1, title == null ? "" : title);
+		// Only the first line fits in a row
+		final int end = text.indexOf('\n');
+		item.setText(2, end == -1 ? text : text.substring(0, end));
+		item.setText(3, buttons != null && answer >= 0 && answer < buttons.length ? buttons[answer] : "");
+	}
+
+	/**
+	 * @return the text without its markup
+	 */
+	private static String plain(final String text) {
+		return text == null ? "" : HTMLFormatter.format(text).text;
+	}
+
+	// ------------------------------------------- Getters & Setters
+
+	/**
+	 * @return the shell of the window
+	 */
+	public Shell getShell() {
+		return shell;
+	}
+}
@@ -0,0 +1,353 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageDataProvider;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * Loads the icons of the dialog boxes outside of the UI thread. An icon is
+ * read from a file or a class path resource, decoded to an
+ * <code>ImageData</code> and scaled to fit a square of the requested size,
+ * both at 100% and at the zoom of the monitor, by a worker thread. Only the
+ * creation of the <code>Image</code> is left to the UI thread, when the dialog
+ * box is rendered.
+ * <p>
+ * Decoded icons are kept in a cache limited by the size of their pixels,
+ * the least recently used being evicted first. Requests for an icon being
+ * decoded share the same decoding.
+ * </p>
+ */
+public class IconLoader {
+	public static final long DEFAULT_CACHE_SIZE = 4 * 1024 * 1024;
+
+	private static final Map<String, CompletableFuture<Icon>> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+	private static long cacheSize = DEFAULT_CACHE_SIZE;
+	private static long cacheWeight;
+
+	// Zoom of the monitors as seen by the images, learnt from the first image created
+	private static volatile int deviceZoom = -1;
+
+	private IconLoader() {
+	}
+
+	/**
+	 * Load an icon outside of the UI thread
+	 *
+	 * @param source path of the file or class path resource of the icon
+	 * @param size width and height of the icon at 100%
+	 * @param zoom zoom of the monitor in percent, see {@link #getZoom(Device)}
+	 * @return a future completed with the icon, or exceptionally if it could
+	 *         not be read
+	 */
+	public static CompletableFuture<Icon> load(final String source, final int size, final int zoom) {
+		final String key = source + '|' + size + '|' + zoom;
+		final CompletableFuture<Icon> future;
+		synchronized (CACHE) {
+			final CompletableFuture<Icon> cached = CACHE.get(key);
+			if (cached != null) {
+				return cached;
+			}
+			future = new CompletableFuture<>();
+			CACHE.put(key, future);
+		}
+		DialogExecutor.submit(() -> {
+			try {
+				final Icon icon = decode(source, size, zoom);
+				synchronized (CACHE) {
+					if (CACHE.get(key) == future) {
+						cacheWeight += icon.weight;
+						evict();
+					}
+				}
+				future.complete(icon);
+			} catch (final IOException | RuntimeException e) {
+				synchronized (CACHE) {
+					CACHE.remove(key, future);
+				}
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * @param device device on which the icon is displayed, may be null
+	 * @return the zoom in percent at which the icons should be decoded
+	 */
+	public static int getZoom(final Device device) {
+		final int zoom = deviceZoom;
+		if (zoom > 0) {
+			return zoom;
+		}
+		if (device == null) {
+			return 100;
+		}
+		final Point dpi = device.getDPI();
+		return Math.max(100, (dpi.x * 100 / 96 + 12) / 25 * 25);
+	}
+
+	/**
+	 * @param size maximum size in bytes of the pixels of the cached icons
+	 */
+	public static void setCacheSize(final long size) {
+		synchronized (CACHE) {
+			cacheSize = size;
+			evict();
+		}
+	}
+
+	/**
+	 * Remove the decoded icons from the cache
+	 */
+	public static void clearCache() {
+		synchronized (CACHE) {
+			// Icons being decoded are not added once they are ready
+			CACHE.clear();
+			cacheWeight = 0;
+		}
+	}
+
+	private static void evict() {
+		final Iterator<CompletableFuture<Icon>> iterator = CACHE.values().iterator();
+		while (cacheWeight > cacheSize && iterator.hasNext()) {
+			final CompletableFuture<Icon> future = iterator.next();
+			// Icons being decoded are not counted yet
+			final Icon icon = future.isDone() ? future.getNow(null) : null;
+			if (icon != null) {
+				iterator.remove();
+				cacheWeight -= icon.weight;
+			}
+		}
+	}
+
+	/**
+	 * Create the image of an icon when a dialog box is rendered. If the icon is
+	 * still being decoded, a transparent placeholder of the same size is
+	 * returned and replaced once the icon is ready. The images are disposed
+	 * with the owner.
+	 *
+	 * @param owner widget owning the images
+	 * @param icon icon being loaded
+	 * @param size width and height of the icon
+	 * @param swap called on the UI thread with the image replacing the
+	 *            placeholder
+	 * @return the image of the icon or its placeholder, <code>null</code> if
+	 *         the icon could not be read
+	 */
+	static Image createImage(final Widget owner, final CompletableFuture<Icon> icon, final int size, final Consumer<Image> swap) {
+		final Display display = owner.getDisplay();
+		if (icon.isDone()) {
+			return icon.isCompletedExceptionally() ? null : own(owner, icon.getNow(null).createImage(display));
+		}
+
+		final ImageData blank = new ImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		blank.alphaData = new byte[size * size];
+		final Image placeholder = own(owner, new Image(display, blank));
+		icon.thenAccept(decoded -> {
+			if (!display.isDisposed()) {
+				display.asyncExec(() -> {
+					if (!owner.isDisposed()) {
+						swap.accept(own(owner, decoded.createImage(display)));
+					}
+				});
+			}
+		});
+		return placeholder;
+	}
+
+	private static Image own(final Widget owner, final Image image) {
+		SWTGraphicUtil.addDisposer(owner, image);
+		return image;
+	}
+
+	private static Icon decode(final String source, final int size, final int zoom) throws IOException {
+		final ImageData data;
+		final File file = new File(source);
+		try (InputStream in = file.isFile() ? new FileInputStream(file) : IconLoader.class.getResourceAsStream(source)) {
+			if (in == null) {
+				throw new FileNotFoundException(source);
+			}
+			data = new ImageData(new BufferedInputStream(in));
+		}
+		final int[] argb = toArgb(data);
+		final ImageData base = scale(argb, data.width, data.height, size);
+		final int pixels = Math.max(1, Math.round(size * zoom / 100f));
+		return new Icon(size, zoom, base, pixels == size ? base : scale(argb, data.width, data.height, pixels));
+	}
+
+	/**
+	 * @return the pixels of the image as ARGB values, row by row
+	 */
+	private static int[] toArgb(final ImageData data) {
+		final int width = data.width;
+		final int height = data.height;
+		final PaletteData palette = data.palette;
+		int[] table = null;
+		if (!palette.isDirect) {
+			table = new int[palette.colors.length];
+			for (int i = 0; i < table.length; i++) {
+				table[i] = palette.colors[i].red << 16 | palette.colors[i].green << 8 | palette.colors[i].blue;
+			}
+		}
+
+		final int[] argb = new int[width * height];
+		final int[] pixels = new int[width];
+		final byte[] alphas = data.alphaData == null ? null : new byte[width];
+		for (int y = 0; y < height; y++) {
+			data.getPixels(0, y, width, pixels, 0);
+			if (alphas != null) {
+				data.getAlphas(0, y, width, alphas, 0);
+			}
+			for (int x = 0; x < width; x++) {
+				final int pixel = pixels[x];
+				final int rgb;
+				if (table != null) {
+					rgb = pixel < table.length ? table[pixel] : 0;
+				} else {
+					rgb = channel(pixel, palette.redMask, palette.redShift) << 16 | channel(pixel, palette.greenMask, palette.greenShift) << 8
+							| channel(pixel, palette.blueMask, palette.blueShift);
+				}
+				final int alpha;
+				if (alphas != null) {
+					alpha = alphas[x] & 0xFF;
+				} else if (data.alpha != -1) {
+					alpha = data.alpha;
+				} else {
+					alpha = pixel == data.transparentPixel ? 0 : 255;
+				}
+				argb[y * width + x] = alpha << 24 | rgb;
+			}
+		}
+		return argb;
+	}
+
+	private static int channel(final int pixel, final int mask, final int shift) {
+		final int value = pixel & mask;
+		return (shift < 0 ? value >>> -shift : value << shift) & 0xFF;
+	}
+
+	/**
+	 * Scale an image to fit a square keeping its aspect ratio. Each pixel is the
+	 * average of the source pixels it covers, weighted by their alpha.
+	 *
+	 * @return a 24 bits image with an alpha channel
+	 */
+	private static ImageData scale(final int[] argb, final int sourceWidth, final int sourceHeight, final int box) {
+		final int width = sourceWidth >= sourceHeight ? box : Math.max(1, Math.round((float) sourceWidth * box / sourceHeight));
+		final int height = sourceWidth >= sourceHeight ? Math.max(1, Math.round((float) sourceHeight * box / sourceWidth)) : box;
+		final int left = (box - width) / 2;
+		final int top = (box - height) / 2;
+
+		final ImageData result = new ImageData(box, box, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		result.alphaData = new byte[box * box];
+		final int[] row = new int[box];
+		final byte[] alphas = new byte[box];
+		for (int y = 0; y < height; y++) {
+			final int y0 = (int) ((long) y * sourceHeight / height);
+			final int y1 = Math.max(y0 + 1, (int) ((long) (y + 1) * sourceHeight / height));
+			for (int x = 0; x < width; x++) {
+				final int x0 = (int) ((long) x * sourceWidth / width);
+				final int x1 = Math.max(x0 + 1, (int) ((long) (x + 1) * sourceWidth / width));
+				long a = 0;
+				long r = 0;
+				long g = 0;
+				long b = 0;
+				for (int sy = y0; sy < y1; sy++) {
+					for (int sx = x0; sx < x1; sx++) {
+						final int pixel = argb[sy * sourceWidth + sx];
+						final int alpha = pixel >>> 24;
+						a += alpha;
+						r += (pixel >> 16 & 0xFF) * alpha;
+						g += (pixel >> 8 & 0xFF) * alpha;
+						b += (pixel & 0xFF) * alpha;
+					}
+				}
+				final int count = (y1 - y0) * (x1 - x0);
+				row[left + x] = a == 0 ? 0 : (int) (r / a) << 16 | (int) (g / a) << 8 | (int) (b / a);
+				alphas[left + x] = (byte) (a / count);
+			}
+			result.setPixels(0, top + y, box, row, 0);
+			result.setAlphas(0, top + y, box, alphas, 0);
+		}
+		return result;
+	}
+
+	/**
+	 * A decoded icon, scaled at 100% and at the zoom of the monitor
+	 */
+	public static final class Icon {
+		private final int size;
+		private final int zoom;
+		private final ImageData base;
+		private final ImageData zoomed;
+		private final long weight;
+
+		Icon(final int size, final int zoom, final ImageData base, final ImageData zoomed) {
+			this.size = size;
+			this.zoom = zoom;
+			this.base = base;
+			this.zoomed = zoomed;
+			// 3 bytes of color and 1 of alpha per pixel
+			weight = 4L * (base.width * base.height + (zoomed == base ? 0 : zoomed.width * zoomed.height));
+		}
+
+		/**
+		 * Create the image of the icon, must be called on the UI thread
+		 *
+		 * @param device device of the image
+		 * @return the image, to be disposed by the caller
+		 */
+		public Image createImage(final Device device) {
+			final int[] requested = new int[1];
+			final Image image = new Image(device, (ImageDataProvider) requestedZoom -> {
+				requested[0] = Math.max(requested[0], requestedZoom);
+				if (requestedZoom == 100) {
+					return base;
+				}
+				if (requestedZoom == zoom) {
+					return zoomed;
+				}
+				// Another monitor zoom, rare enough to be scaled here
+				final int pixels = Math.max(1, Math.round(size * requestedZoom / 100f));
+				return scale(toArgb(zoomed), zoomed.width, zoomed.height, pixels);
+			});
+			if (requested[0] > 0) {
+				deviceZoom = requested[0];
+			}
+			return image;
+		}
+
+		/**
+		 * @return the width and height of the icon at 100%
+		 */
+		public int getSize() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,252 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Text;
+
+/**
+ * Instances of this class run the validators of a text box outside of the UI
+ * thread. Runs are debounced while the user types, a run that became stale
+ * because of a new input is cancelled, and only the result of the latest run
+ * updates the error label and the first button of the footer.
+ */
+public class InputValidation {
+	private static final int DEFAULT_DELAY = 250;
+
+	private final List<InputValidator> validators = new ArrayList<>();
+	private final List<AsyncInputValidator> asyncValidators = new ArrayList<>();
+	private int delay = DEFAULT_DELAY;
+
+	// Incremented on every input, a run is stale when its generation is not the current one
+	private final AtomicLong generation = new AtomicLong();
+	private Future<?> running;
+	private boolean valid = true;
+
+	private final AtomicLong runCount = new AtomicLong();
+	private final AtomicLong cancelCount = new AtomicLong();
+	private final AtomicLong totalLatency = new AtomicLong();
+	private final AtomicLong maximumLatency = new AtomicLong();
+
+	private Text textBox;
+	private Label errorLabel;
+	private FooterArea footerArea;
+	private final Runnable trigger = this::validate;
+
+	void addValidator(final InputValidator validator) {
+		validators.add(validator);
+	}
+
+	void addValidator(final AsyncInputValidator validator) {
+		asyncValidators.add(validator);
+	}
+
+	boolean isEmpty() {
+		return validators.isEmpty() && asyncValidators.isEmpty();
+	}
+
+	/**
+	 * Bind the validation to the widgets and validate the initial value
+	 *
+	 * @param textBox text box to validate
+	 * @param errorLabel label displaying the error
+	 * @param footerArea footer whose first button is enabled only for valid values
+	 */
+	void install(final Text textBox, final Label errorLabel, final FooterArea footerArea) {
+		this.textBox = textBox;
+		this.errorLabel = errorLabel;
+		this.footerArea = footerArea;
+		setPending();
+		validate();
+	}
+
+	/**
+	 * Called on every modification of the text box
+	 */
+	void inputChanged() {
+		generation.incrementAndGet();
+		setPending();
+		if (running != null && !running.isDone() && running.cancel(true)) {
+			cancelCount.incrementAndGet();
+		}
+		running = null;
+		final Display display = textBox.getDisplay();
+		display.timerExec(-1, trigger);
+		display.timerExec(delay, trigger);
+	}
+
+	/**
+	 * Until the current value is validated it cannot be submitted, neither by
+	 * the first button nor by the enter key
+	 */
+	private void setPending() {
+		valid = false;
+		footerArea.setButtonEnabled(0, false);
+	}
+
+	/**
+	 * Stop any pending run
+	 */
+	void dispose() {
+		generation.incrementAndGet();
+		if (running != null) {
+			running.cancel(true);
+		}
+	}
+
+	private void validate() {
+		if (textBox.isDisposed()) {
+			return;
+		}
+		final String value = textBox.getText();
+		final long runGeneration = generation.get();
+		final Display display = textBox.getDisplay();
+		running = DialogExecutor.submit(() -> {
+			final long start = System.nanoTime();
+			final String error = runValidators(value);
+			if (Thread.currentThread().isInterrupted() || runGeneration != generation.get()) {
+				return;
+			}
+			recordLatency(System.nanoTime() - start);
+			display.asyncExec(() -> apply(runGeneration, error));
+		});
+	}
+
+	private String runValidators(final String value) {
+		// A validator that fails rejects the value, otherwise the first button
+		// would stay disabled without any explanation
+		for (final InputValidator validator : validators) {
+			final String error;
+			try {
+				error = validator.validate(value);
+			} catch (final RuntimeException e) {
+				return messageOf(e);
+			}
+			if (error != null) {
+				return error;
+			}
+		}
+		for (final AsyncInputValidator validator : asyncValidators) {
+			final CompletableFuture<String> future;
+			try {
+				future = validator.validate(value).toCompletableFuture();
+			} catch (final RuntimeException e) {
+				return messageOf(e);
+			}
+			try {
+				final String error = future.get();
+				if (error != null) {
+					return error;
+				}
+			} catch (final InterruptedException e) {
+				future.cancel(true);
+				Thread.currentThread().interrupt();
+				return null;
+			} catch (final ExecutionException e) {
+				return messageOf(e.getCause() == null ? e : e.getCause());
+			} catch (final RuntimeException e) {
+				// Cancelled by the validator itself
+				return messageOf(e);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the error displayed for a validator that failed, never
+	 *         <code>null</code> since <code>null</code> means valid
+	 */
+	private static String messageOf(final Throwable failure) {
+		final String message = failure.getMessage();
+		return message == null || message.isEmpty() ? failure.getClass().getSimpleName() : message;
+	}
+
+	private void recordLatency(final long latency) {
+		runCount.incrementAndGet();
+		totalLatency.addAndGet(latency);
+		long maximum = maximumLatency.get();
+		while (latency > maximum && !maximumLatency.compareAndSet(maximum, latency)) {
+			maximum = maximumLatency.get();
+		}
+	}
+
+	private void apply(final long runGeneration, final String error) {
+		if (runGeneration != generation.get() || errorLabel.isDisposed()) {
+			return;
+		}
+		valid = error == null;
+		errorLabel.setText(valid ? "" : error);
+		errorLabel.getParent().layout(new Control[] { errorLabel });
+		footerArea.setButtonEnabled(0, valid);
+	}
+
+	// ------------------------------------------- Getters & Setters
+
+	/**
+	 * @return <code>true</code> if the current value has been validated and is
+	 *         valid
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * @return the delay in milliseconds between the last input and a validation
+	 */
+	public int getDelay() {
+		return delay;
+	}
+
+	/**
+	 * @param delay the delay in milliseconds between the last input and a
+	 *            validation
+	 */
+	public void setDelay(final int delay) {
+		this.delay = delay;
+	}
+
+	/**
+	 * @return the number of completed validations
+	 */
+	public long getRunCount() {
+		return runCount.get();
+	}
+
+	/**
+	 * @return the number of validations cancelled because of a newer input
+	 */
+	public long getCancelCount() {
+		return cancelCount.get();
+	}
+
+	/**
+	 * @return the average latency of the completed validations in milliseconds
+	 */
+	public double getAverageLatency() {
+		final long count = runCount.get();
+		return count == 0 ? 0 : totalLatency.get() / (count * 1_000_000d);
+	}
+
+	/**
+	 * @return the maximum latency of the completed validations in milliseconds
+	 */
+	public double getMaximumLatency() {
+		return maximumLatency.get() / 1_000_000d;
+	}
+}
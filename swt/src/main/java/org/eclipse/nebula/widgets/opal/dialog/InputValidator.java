@@ -0,0 +1,25 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+/**
+ * Validates the value of a text box. Validators are called outside of the UI
+ * thread and must not access any widget.
+ */
+@FunctionalInterface
+public interface InputValidator {
+
+	/**
+	 * @param value value of the text box
+	 * @return the error message to display, <code>null</code> if the value is
+	 *         valid
+	 */
+	String validate(String value);
+}
@@ -0,0 +1,307 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.accessibility.AccessibleAdapter;
+import org.eclipse.swt.accessibility.AccessibleEvent;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Event;
+
+/**
+ * Instances of this class render a dialog box made of a title, an icon, a text
+ * and buttons on a single canvas, instead of the composites, labels, styled
+ * text and separators created by the message and footer areas. The buttons are
+ * painted too, with their own hit-testing and keyboard focus, unless native
+ * buttons are asked for, for instance for screen readers.
+ */
+class LightweightRenderer extends Canvas {
+	private static final int MARGIN = DialogGeometry.MARGIN;
+
+	private final Dialog dialog;
+	private final String title;
+	private final String text;
+	private Image icon;
+	private final String[] labels;
+	private final int defaultIndex;
+	private final Button[] buttons;
+
+	private final Font titleFont;
+	private final Color titleColor;
+	private final Color greyColor;
+	private final Color hoverColor;
+	private final DialogGeometry geometry;
+
+	private int hover = -1;
+	private int pressed = -1;
+	private int focus;
+
+	/**
+	 * Constructor
+	 *
+	 * @param dialog dialog box to render
+	 * @param nativeButtons if <code>true</code>, buttons are native widgets
+	 */
+	LightweightRenderer(final Dialog dialog, final boolean nativeButtons) {
+		super(dialog.shell, SWT.DOUBLE_BUFFERED);
+		this.dialog = dialog;
+		final MessageArea messageArea = dialog.getMessageArea();
+		final FooterArea footerArea = dialog.getFooterArea();
+		title = messageArea.getTitle();
+		text = messageArea.getText();
+		// The placeholder of an icon being decoded has the size of the icon
+		icon = messageArea.createIconImage(image -> {
+			icon = image;
+			redraw();
+		});
+		final List<String> buttonLabels = footerArea.getButtonLabels();
+		labels = buttonLabels == null ? new String[0] : buttonLabels.toArray(new String[0]);
+		defaultIndex = footerArea.getDefaultButtonIndex();
+		focus = defaultIndex >= 0 && defaultIndex < labels.length ? defaultIndex : 0;
+
+		final FontData fontData = getFont().getFontData()[0];
+		fontData.setHeight(fontData.getHeight() + 2);
+		titleFont = new Font(getDisplay(), fontData);
+		titleColor = new Color(getDisplay(), 35, 107, 178);
+		greyColor = new Color(getDisplay(), 240, 240, 240);
+		hoverColor = new Color(getDisplay(), 220, 231, 243);
+		SWTGraphicUtil.addDisposer(this, titleFont, titleColor, greyColor, hoverColor);
+
+		if (nativeButtons) {
+			buttons = new Button[labels.length];
+			for (int i = 0; i < labels.length; i++) {
+				final int index = i;
+				buttons[i] = new Button(this, SWT.PUSH);
+				buttons[i].setText(labels[i]);
+				buttons[i].addListener(SWT.Selection, e -> select(index));
+			}
+			if (defaultIndex >= 0 && defaultIndex < buttons.length) {
+				dialog.shell.setDefaultButton(buttons[defaultIndex]);
+			}
+			final Point trim = buttons.length == 0 ? new Point(0, 0) : TextMetrics.buttonTrim(buttons[0]);
+			geometry = new DialogGeometry(title, text, icon == null ? null : new Point(icon.getBounds().width, icon.getBounds().height), labels, getFont(), titleFont, trim);
+		} else {
+			buttons = null;
+			geometry = new DialogGeometry(title, text, icon == null ? null : new Point(icon.getBounds().width, icon.getBounds().height), labels, getFont(), titleFont, new Point(MARGIN * 2, MARGIN));
+			addListener(SWT.MouseMove, e -> setHover(buttonAt(e.x, e.y)));
+			addListener(SWT.MouseExit, e -> setHover(-1));
+			addListener(SWT.MouseDown, e -> {
+				if (e.button == 1) {
+					pressed = buttonAt(e.x, e.y);
+					redraw();
+				}
+			});
+			addListener(SWT.MouseUp, e -> {
+				final int index = pressed;
+				pressed = -1;
+				redraw();
+				if (index >= 0 && index == buttonAt(e.x, e.y)) {
+					select(index);
+				}
+			});
+			addListener(SWT.KeyDown, this::handleKey);
+			addListener(SWT.Traverse, this::handleTraverse);
+			addListener(SWT.FocusIn, e -> redraw());
+			addListener(SWT.FocusOut, e -> redraw());
+		}
+
+		addListener(SWT.Paint, this::paint);
+		addListener(SWT.Resize, e -> {
+			layoutContent(getClientArea().width);
+			redraw();
+		});
+		getAccessible().addAccessibleListener(new AccessibleAdapter() {
+			@Override
+			public void getName(final AccessibleEvent e) {
+				final StringBuilder name = new StringBuilder();
+				if (!StringUtil.isEmpty(title)) {
+					name.append(title).append('\n');
+				}
+				if (!StringUtil.isEmpty(text)) {
+					name.append(text).append('\n');
+				}
+				if (buttons == null && focus < labels.length) {
+					name.append(labels[focus]);
+				}
+				e.result = name.toString();
+			}
+		});
+	}
+
+	/**
+	 * @see org.eclipse.swt.widgets.Composite#computeSize(int, int, boolean)
+	 */
+	@Override
+	public Point computeSize(final int wHint, final int hHint, final boolean changed) {
+		final Point size;
+		if (wHint == SWT.DEFAULT) {
+			size = geometry.computeSize();
+		} else {
+			geometry.layout(wHint);
+			size = new Point(wHint, geometry.height);
+		}
+		layoutButtons();
+		return new Point(size.x, hHint == SWT.DEFAULT ? size.y : hHint);
+	}
+
+	private void layoutContent(final int width) {
+		geometry.layout(width);
+		layoutButtons();
+	}
+
+	private void layoutButtons() {
+		if (buttons != null) {
+			for (int i = 0; i < buttons.length; i++) {
+				buttons[i].setBounds(geometry.buttonBounds[i]);
+			}
+		}
+	}
+
+	private int buttonAt(final int x, final int y) {
+		final Rectangle[] buttonBounds = geometry.buttonBounds;
+		if (buttonBounds == null) {
+			return -1;
+		}
+		for (int i = 0; i < buttonBounds.length; i++) {
+			if (buttonBounds[i].contains(x, y)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void setHover(final int index) {
+		if (index != hover) {
+			hover = index;
+			redraw();
+		}
+	}
+
+	private void select(final int index) {
+		dialog.select(index);
+	}
+
+	private void handleKey(final Event event) {
+		if (labels.length == 0) {
+			return;
+		}
+		switch (event.keyCode) {
+			case SWT.ARROW_LEFT:
+				setFocusedButton((focus + labels.length - 1) % labels.length);
+				break;
+			case SWT.ARROW_RIGHT:
+				setFocusedButton((focus + 1) % labels.length);
+				break;
+			case ' ':
+				select(focus);
+				break;
+			default:
+				break;
+		}
+	}
+
+	private void handleTraverse(final Event event) {
+		switch (event.detail) {
+			case SWT.TRAVERSE_TAB_NEXT:
+			case SWT.TRAVERSE_TAB_PREVIOUS:
+				// Tab moves between the painted buttons
+				if (labels.length > 0) {
+					final int step = event.detail == SWT.TRAVERSE_TAB_NEXT ? 1 : labels.length - 1;
+					setFocusedButton((focus + step) % labels.length);
+				}
+				event.doit = false;
+				break;
+			case SWT.TRAVERSE_RETURN:
+				if (labels.length > 0) {
+					select(focus);
+				}
+				event.doit = false;
+				break;
+			default:
+				break;
+		}
+	}
+
+	private void setFocusedButton(final int index) {
+		focus = index;
+		redraw();
+	}
+
+	private void paint(final Event event) {
+		final GC gc = event.gc;
+		final Rectangle client = getClientArea();
+		layoutContent(client.width);
+
+		gc.setBackground(getDisplay().getSystemColor(SWT.COLOR_WHITE));
+		gc.fillRectangle(client);
+
+		if (icon != null) {
+			gc.drawImage(icon, MARGIN, MARGIN);
+		}
+		if (!StringUtil.isEmpty(title)) {
+			gc.setFont(titleFont);
+			gc.setForeground(titleColor);
+			gc.drawText(title, geometry.textX, geometry.titleY, true);
+		}
+		if (geometry.textWrap != null) {
+			gc.setFont(getFont());
+			gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_BLACK));
+			final int lineHeight = geometry.textWrap.lineHeight;
+			final int first = Math.max(0, (event.y - geometry.textY) / lineHeight);
+			final int last = Math.min(geometry.textWrap.getLineCount() - 1, (event.y + event.height - geometry.textY) / lineHeight);
+			for (int line = first; line <= last; line++) {
+				gc.drawText(geometry.lineAt(line), geometry.textX, geometry.textY + line * lineHeight, true);
+			}
+		}
+
+		if (labels.length == 0) {
+			return;
+		}
+		gc.setBackground(greyColor);
+		final int footerY = geometry.footerY;
+		gc.fillRectangle(0, footerY, client.width, client.height - footerY);
+		gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_WIDGET_NORMAL_SHADOW));
+		gc.drawLine(0, footerY, client.width, footerY);
+
+		if (buttons == null) {
+			gc.setFont(getFont());
+			for (int i = 0; i < labels.length; i++) {
+				paintButton(gc, i);
+			}
+		}
+	}
+
+	private void paintButton(final GC gc, final int index) {
+		final Rectangle bounds = geometry.buttonBounds[index];
+		gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_WHITE));
+		gc.setBackground(index == pressed || index == hover ? hoverColor : greyColor);
+		gc.fillGradientRectangle(bounds.x, bounds.y, bounds.width, bounds.height, true);
+		gc.setForeground(index == defaultIndex || index == hover ? titleColor : getDisplay().getSystemColor(SWT.COLOR_WIDGET_NORMAL_SHADOW));
+		gc.drawRoundRectangle(bounds.x, bounds.y, bounds.width - 1, bounds.height - 1, 4, 4);
+
+		final Point extent = TextMetrics.extent(getFont(), labels[index]);
+		gc.setForeground(getDisplay().getSystemColor(SWT.COLOR_BLACK));
+		gc.drawText(labels[index], bounds.x + (bounds.width - extent.x) / 2, bounds.y + (bounds.height - extent.y) / 2, true);
+
+		if (index == focus && isFocusControl()) {
+			gc.drawFocus(bounds.x + 3, bounds.y + 3, bounds.width - 6, bounds.height - 6);
+		}
+	}
+}
@@ -22,6 +22,15 @@
  *******************************************************************************/
 package org.eclipse.nebula.widgets.opal.dialog;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 //import org.eclipse.nebula.widgets.opal.commons.ReadOnlyStyledText;
 //import org.eclipse.nebula.widgets.opal.commons.SWTGraphicUtil;
 //import org.eclipse.nebula.widgets.opal.commons.StringUtil;
@@ -35,6 +44,8 @@ import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
@@ -45,33 +56,53 @@ import org.eclipse.swt.widgets.Text;
  * Instances of this class are message areas
  */
 public class MessageArea extends DialogArea {
-	private static final int INDENT_NO_ICON = 8;
-	private static final int DEFAULT_MARGIN = 10;
+	static final int INDENT_NO_ICON = 8;
+	static final int DEFAULT_MARGIN = 10;
 
 	// Main composite
 	private Composite composite;
+	private Label iconLabel;
+	private Label titleLabel;
 
 	// Informations for a simple dialog box
 	private String title;
 	private Image icon;
+	private CompletableFuture<IconLoader.Icon> loadedIcon;
+	private int loadedIconSize;
 	private String text;
 
 	// Informations for a radio choice dialog box
 	private int radioChoice;
 	private int radioDefaultSelection;
 	private String[] radioValues;
+	private int radioVirtualThreshold = 50;
+	private boolean fuzzyFilter;
 
 	// Informations for a exception viewer dialog box
 	private Throwable exception;
-	private Text textException;
+	private ExceptionViewer exceptionViewer;
+	// Position of the exception panel when its creation is deferred
+	private int exceptionPosition = -1;
+	private int occurrences;
+	private final Deque<Long> occurrenceHistory = new ArrayDeque<>();
+	private int occurrenceHistorySize = 20;
 
 	// Informations for an input dialog box
 	private String textBoxValue;
+	private Text textBox;
+	private boolean textBoxMultiLine;
+	private int textBoxLimit = -1;
+	private final InputValidation inputValidation = new InputValidation();
+	private String suggestionSourceId;
+	private Supplier<? extends Collection<String>> suggestionSource;
+	private int suggestionLimit = 10;
+	private AutoComplete autoComplete;
 
 	// Informations for a choice dialog box
 	private int choice;
 	private int choiceDefaultSelection;
 	private ChoiceItem[] choiceValues;
+	private int choiceVirtualThreshold = 20;
 
 	// Informations for a progress bar displayed in a dialog box
 	private ProgressBar progressBar;
@@ -87,6 +118,8 @@ public class MessageArea extends DialogArea {
 	private String checkBoxLabel;
 	private boolean checkBoxValue;
 	private Composite bottomComponent;
+
+	private final List<Listener> changeListeners = new ArrayList<>();
 	
 	/**
 	 * Constructor
@@ -140,6 +173,33 @@ public class MessageArea extends DialogArea {
 		return this;
 	}
 
+	/**
+	 * Add a text box for input whose value is checked by validators. The first
+	 * button of the footer is enabled only when all validators accept the value,
+	 * otherwise the error is displayed under the text box
+	 *
+	 * @param value defaut value of the textbox
+	 * @param validators validators called outside of the UI thread
+	 * @return the current message area
+	 */
+	public MessageArea addTextBox(final String value, final InputValidator... validators) {
+		for (final InputValidator validator : validators) {
+			inputValidation.addValidator(validator);
+		}
+		return addTextBox(value);
+	}
+
+	/**
+	 * Add an asynchronous validator to the text box
+	 *
+	 * @param validator validator called outside of the UI thread
+	 * @return the current message area
+	 */
+	public MessageArea addTextBoxValidator(final AsyncInputValidator validator) {
+		inputValidation.addValidator(validator);
+		return this;
+	}
+
 	/**
 	 * Add a progress bar
 	 *
@@ -169,6 +229,19 @@ public class MessageArea extends DialogArea {
 		setInitialised(true);
 		return this;
 	}
+	/**
+	 * Add a listener notified when the value of the text box is modified
+	 * (<code>SWT.Modify</code>) or when a radio button is selected
+	 * (<code>SWT.Selection</code>)
+	 *
+	 * @param listener listener to add
+	 * @return this message area
+	 */
+	public MessageArea addChangeListener(final Listener listener) {
+		changeListeners.add(listener);
+		return this;
+	}
+
 	/**
 	 * @see org.eclipse.nebula.widgets.opal.dialog.DialogArea#render()
 	 */
@@ -183,12 +256,13 @@ public class MessageArea extends DialogArea {
 		composite.setBackground(composite.getDisplay().getSystemColor(SWT.COLOR_WHITE));
 		composite.setBackgroundMode(SWT.INHERIT_DEFAULT);
 		
-		final boolean hasIcon = icon != null;
+		final boolean hasIcon = icon != null || loadedIcon != null && !loadedIcon.isCompletedExceptionally();
 		final boolean hasTitle = !StringUtil.isEmpty(title);
 		final boolean hasText = !StringUtil.isEmpty(text);
 		final boolean hasRadio = radioValues != null;
 		final boolean hasException = exception != null;
 		final boolean hasTextbox = textBoxValue != null;
+		final boolean hasValidation = hasTextbox && !inputValidation.isEmpty();
 		final boolean hasChoice = choiceValues != null;
 		final boolean hasProgressBar = progressBarValue != -1;
 		final boolean hasCheckbox = !StringUtil.isEmpty(checkBoxLabel);
@@ -197,17 +271,21 @@ public class MessageArea extends DialogArea {
 		int numberOfRows = hasTitle && hasText ? 2 : 1;
 
 		if (hasRadio) {
-			numberOfRows += radioValues.length;
+			numberOfRows += isRadioVirtual() ? 1 : radioValues.length;
 		}
 
 		if (hasChoice) {
-			numberOfRows += choiceValues.length;
+			numberOfRows += isChoiceVirtual() ? 2 : choiceValues.length;
 		}
 
 		if (hasException || hasTextbox) {
 			numberOfRows++;
 		}
 
+		if (hasValidation) {
+			numberOfRows++;
+		}
+
 		if (hasProgressBar) {
 			numberOfRows++;
 		}
@@ -232,11 +310,15 @@ public class MessageArea extends DialogArea {
 			createText(hasIcon, hasTitle);
 		}
 
-		if (hasRadio) {
+		if (hasRadio && isRadioVirtual()) {
+			createRadioList();
+		} else if (hasRadio) {
 			createRadioButtons();
 		}
 
-		if (hasException) {
+		if (hasException && parent.isLazyRender() && parent.getFooterArea().hasDetails() && !parent.getFooterArea().isExpanded()) {
+			exceptionPosition = composite.getChildren().length;
+		} else if (hasException) {
 			createTextException();
 		}
 
@@ -244,7 +326,13 @@ public class MessageArea extends DialogArea {
 			createTextBox();
 		}
 
-		if (hasChoice) {
+		if (hasValidation) {
+			createValidation();
+		}
+
+		if (hasChoice && isChoiceVirtual()) {
+			createChoiceList();
+		} else if (hasChoice) {
 			createChoice();
 		}
 
@@ -253,6 +341,10 @@ public class MessageArea extends DialogArea {
 		}
 		
 		
+		if (parent.isLazyRender() && !hasCheckbox) {
+			return;
+		}
+
 		bottomComponent = new Composite(parent.shell, SWT.NONE);
 		bottomComponent.setLayoutData(new GridData(GridData.FILL, SWT.BOTTOM, true, false));
 		bottomComponent.setBackground(composite.getDisplay().getSystemColor(SWT.COLOR_WHITE));
@@ -278,9 +370,9 @@ public class MessageArea extends DialogArea {
 	 * @param numberOfRows number of rows displayed
 	 */
 	private void createIcon(final int numberOfRows) {
-		final Label label = new Label(composite, SWT.NONE);
-		label.setImage(icon);
-		label.setLayoutData(new GridData(GridData.CENTER, GridData.BEGINNING, false, false, 1, numberOfRows));
+		iconLabel = new Label(composite, SWT.NONE);
+		iconLabel.setImage(createIconImage(iconLabel::setImage));
+		iconLabel.setLayoutData(new GridData(GridData.CENTER, GridData.BEGINNING, false, false, 1, numberOfRows));
 	}
 
 	/**
@@ -289,10 +381,10 @@ public class MessageArea extends DialogArea {
 	 * @param hasIcon if <code>true</code> an icon is displayed
 	 */
 	private void createTitle(final boolean hasIcon) {
-		final Label label = new Label(composite, SWT.NONE);
-		label.setText(title);
-		label.setFont(getBiggerFont());
-		label.setForeground(getTitleColor());
+		titleLabel = new Label(composite, SWT.NONE);
+		titleLabel.setText(title);
+		titleLabel.setFont(getBiggerFont());
+		titleLabel.setForeground(getTitleColor());
 		final GridData gd = new GridData(GridData.BEGINNING, GridData.BEGINNING, false, false, 1, 1);
 
 		if (hasIcon) {
@@ -302,7 +394,7 @@ public class MessageArea extends DialogArea {
 			gd.verticalIndent = DEFAULT_MARGIN;
 		}
 
-		label.setLayoutData(gd);
+		titleLabel.setLayoutData(gd);
 	}
 
 	/**
@@ -313,9 +405,7 @@ public class MessageArea extends DialogArea {
 	 */
 	private void createText(final boolean hasIcon, final boolean hasTitle) {
 		label = new ReadOnlyStyledText(composite, SWT.NONE | (verticalScrollbar ? SWT.V_SCROLL : SWT.NONE));
-		label.setText(text);
-		
-		SWTGraphicUtil.applyHTMLFormating(label);
+		SWTGraphicUtil.applyHTMLFormating(label, text);
 		label.setEditable(false);
 		final GridData gd = new GridData(GridData.FILL, GridData.FILL, true, false, 1, 1);
 		if (height != -1) {
@@ -336,6 +426,37 @@ public class MessageArea extends DialogArea {
 		label.setLayoutData(gd);
 	}
 
+	/**
+	 * Describe a rendered dialog box made only of a title, an icon, a text and
+	 * buttons, and give its widgets their sizes as hints so that the layout does
+	 * not measure them, the styled text in particular
+	 *
+	 * @param labels labels of the buttons
+	 * @param buttonTrim space taken by a button around its label
+	 * @return the geometry of the dialog box
+	 */
+	DialogGeometry createGeometry(final String[] labels, final Point buttonTrim) {
+		final Image image = iconLabel == null ? null : iconLabel.getImage();
+		final Point iconSize = image == null ? null : new Point(image.getBounds().width, image.getBounds().height);
+		final DialogGeometry geometry = new DialogGeometry(title, text, iconSize, labels, label == null ? composite.getFont() : label.getFont(), titleLabel == null ? composite.getFont() : titleLabel.getFont(), buttonTrim);
+		if (iconSize != null) {
+			setHints(iconLabel, iconSize);
+		}
+		if (titleLabel != null) {
+			setHints(titleLabel, geometry.computeTitleSize());
+		}
+		if (label != null) {
+			setHints(label, geometry.computeTextSize());
+		}
+		return geometry;
+	}
+
+	private static void setHints(final Control control, final Point size) {
+		final GridData gd = (GridData) control.getLayoutData();
+		gd.widthHint = size.x;
+		gd.heightHint = size.y;
+	}
+
 	/**
 	 * Create radio buttons
 	 */
@@ -348,6 +469,7 @@ public class MessageArea extends DialogArea {
 			button.addListener(SWT.Selection, e -> {
 				if (button.getSelection()) {
 					radioChoice = index.intValue();
+					fireChange(e);
 				}
 			});
 
@@ -359,32 +481,81 @@ public class MessageArea extends DialogArea {
 	}
 
 	/**
-	 * Create the text that displays an exception
+	 * @return <code>true</code> if there are too many radio values to create one
+	 *         button per value
+	 */
+	private boolean isRadioVirtual() {
+		return radioVirtualThreshold >= 0 && radioValues.length > radioVirtualThreshold;
+	}
+
+	/**
+	 * Create a virtual list with a filter box in place of the radio buttons
+	 */
+	private void createRadioList() {
+		final VirtualRadioList list = new VirtualRadioList(composite, radioValues, radioDefaultSelection, fuzzyFilter);
+		list.addSelectionListener(e -> {
+			radioChoice = list.getSelection();
+			fireChange(e);
+		});
+		final GridData gd = new GridData(GridData.FILL, GridData.FILL, true, true, 1, 1);
+		gd.horizontalIndent = DEFAULT_MARGIN;
+		list.setLayoutData(gd);
+	}
+
+	/**
+	 * Create the tree that displays an exception
 	 */
 	private void createTextException() {
-		textException = new Text(composite, SWT.MULTI | SWT.READ_ONLY | SWT.BORDER | SWT.H_SCROLL | SWT.V_SCROLL);
-		textException.setText(StringUtil.stackStraceAsString(exception));
-		textException.setBackground(composite.getBackground());
+		exceptionViewer = new ExceptionViewer(composite, exception);
+		final Control[] children = composite.getChildren();
+		if (exceptionPosition >= 0 && exceptionPosition < children.length - 1) {
+			exceptionViewer.moveAbove(children[exceptionPosition]);
+		}
+		if (occurrences > 1) {
+			exceptionViewer.setOccurrences(occurrences, occurrenceHistory.peekLast());
+		}
 		final GridData gd = new GridData(GridData.FILL, GridData.FILL, true, true, 1, 1);
-		textException.setLayoutData(gd);
+		exceptionViewer.setLayoutData(gd);
 	}
 
 	/**
 	 * Create a text box
 	 */
 	private void createTextBox() {
-		final Text textbox = new Text(composite, SWT.BORDER | SWT.WRAP);
+		final Text textbox = new Text(composite, SWT.BORDER | SWT.WRAP | (textBoxMultiLine ? SWT.MULTI | SWT.V_SCROLL : SWT.NONE));
+		textBox = textbox;
+		if (textBoxLimit > 0) {
+			textbox.setTextLimit(textBoxLimit);
+		}
 		textbox.setText(textBoxValue);
 		final GridData gd = new GridData(GridData.FILL, GridData.FILL, true, true, 1, 1);
+		if (textBoxMultiLine) {
+			gd.minimumHeight = gd.heightHint = 150;
+		}
 		textbox.setLayoutData(gd);
+
+		// The value is read once when the dialog is closed (or on demand), not on
+		// every keystroke, as copying large pasted content is O(n) per modification
 		textbox.addListener(SWT.Modify, e -> {
+			fireChange(e);
+		});
+		textbox.addListener(SWT.Dispose, e -> {
 			textBoxValue = textbox.getText();
 		});
 
+		if (suggestionSource != null) {
+			autoComplete = new AutoComplete(textbox, suggestionSourceId, suggestionSource, suggestionLimit);
+		}
+
 		textbox.addListener(SWT.KeyUp, e -> {
+			if (textBoxMultiLine || !inputValidation.isValid()) {
+				return;
+			}
+			if (autoComplete != null && autoComplete.handlesEnter()) {
+				return;
+			}
 			if (e.keyCode == SWT.CR || e.keyCode == SWT.KEYPAD_CR) {
-				MessageArea.this.parent.shell.dispose();
-				MessageArea.this.parent.getFooterArea().selectedButtonIndex = 0;
+				MessageArea.this.parent.select(0);
 			}
 		});
 
@@ -393,13 +564,26 @@ public class MessageArea extends DialogArea {
 			@Override
 			public void handleEvent(final Event arg0) {
 				textbox.forceFocus();
-				textbox.setSelection(textbox.getText().length());
+				textbox.setSelection(textbox.getCharCount());
 				textbox.getShell().removeListener(SWT.Activate, this);
 			}
 		});
 
 	}
 
+	/**
+	 * Create the label displaying the validation error of the text box
+	 */
+	private void createValidation() {
+		final Label errorLabel = new Label(composite, SWT.WRAP);
+		errorLabel.setForeground(composite.getDisplay().getSystemColor(SWT.COLOR_RED));
+		errorLabel.setLayoutData(new GridData(GridData.FILL, GridData.BEGINNING, true, false, 1, 1));
+
+		textBox.addListener(SWT.Modify, e -> inputValidation.inputChanged());
+		textBox.addListener(SWT.Dispose, e -> inputValidation.dispose());
+		inputValidation.install(textBox, errorLabel, parent.getFooterArea());
+	}
+
 	/**
 	 * Create a choice selection
 	 */
@@ -428,6 +612,43 @@ public class MessageArea extends DialogArea {
 		}
 	}
 
+	/**
+	 * @return <code>true</code> if there are too many choice items to create one
+	 *         widget per item
+	 */
+	private boolean isChoiceVirtual() {
+		return choiceVirtualThreshold >= 0 && choiceValues.length > choiceVirtualThreshold;
+	}
+
+	/**
+	 * Create an owner drawn list with a filter box in place of the choice widgets
+	 */
+	private void createChoiceList() {
+		final String[] texts = new String[choiceValues.length];
+		for (int i = 0; i < choiceValues.length; i++) {
+			final ChoiceItem item = choiceValues[i];
+			texts[i] = item.getText() == null ? item.getInstruction() : item.getInstruction() + "\n" + item.getText();
+		}
+		final TypeAheadFilter typeAheadFilter = new TypeAheadFilter(texts, fuzzyFilter);
+
+		final Text filter = new Text(composite, SWT.SEARCH | SWT.ICON_SEARCH | SWT.ICON_CANCEL | SWT.BORDER);
+		filter.setLayoutData(new GridData(GridData.FILL, GridData.BEGINNING, true, false, 1, 1));
+
+		final ChoiceList list = new ChoiceList(composite, choiceValues, choiceDefaultSelection);
+		filter.addListener(SWT.Modify, e -> list.setVisibleItems(typeAheadFilter.apply(filter.getText())));
+		filter.addListener(SWT.KeyDown, e -> {
+			if (e.keyCode == SWT.ARROW_DOWN) {
+				list.setFocus();
+				e.doit = false;
+			}
+		});
+		list.addListener(SWT.Selection, e -> {
+			MessageArea.this.choice = e.index;
+			MessageArea.this.parent.shell.dispose();
+		});
+		list.setLayoutData(new GridData(GridData.FILL, GridData.FILL, true, true, 1, 1));
+	}
+
 	/**
 	 * Create a progress bar
 	 */
@@ -455,34 +676,60 @@ public class MessageArea extends DialogArea {
 		});
 	}
 	
+	/**
+	 * Notify the change listeners
+	 *
+	 * @param event the modify or selection event
+	 */
+	private void fireChange(final Event event) {
+		for (final Listener listener : changeListeners) {
+			listener.handleEvent(event);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the area only displays a title, an icon and a
+	 *         text
+	 */
+	boolean isPlain() {
+		return radioValues == null && exception == null && textBoxValue == null && choiceValues == null && progressBarValue == -1 && StringUtil.isEmpty(checkBoxLabel) && height == -1 && !verticalScrollbar && (text == null || HTMLFormatter.format(text).isPlain());
+	}
+
+	/**
+	 * Count one more occurrence of the exception
+	 *
+	 * @param time time of the occurrence, in milliseconds
+	 */
+	void addOccurrence(final long time) {
+		occurrences++;
+		occurrenceHistory.addLast(time);
+		while (occurrenceHistory.size() > occurrenceHistorySize) {
+			occurrenceHistory.removeFirst();
+		}
+		if (exceptionViewer != null && !exceptionViewer.isDisposed()) {
+			exceptionViewer.setOccurrences(occurrences, time);
+		}
+	}
+
 	/**
 	 * Hide the exception panel
 	 */
 	void hideException() {
-		Point size = parent.shell.getSize();
-		
-		textException.setVisible(false);
-		((GridData)textException.getLayoutData()).exclude = true;
-		
-		parent.shell.setMinimumSize(new Point(0,0));
-		parent.shell.layout();
-		parent.pack();
-		parent.shell.setMinimumSize(parent.shell.getSize());
-		parent.setLastSize(size);
+		if (exceptionViewer != null) {
+			parent.hideControl(exceptionViewer);
+		}
 	}
 
 	/**
 	 * Show the exception panel
 	 */
 	void showException() {
-		if(textException == null) {
+		if(exceptionViewer == null) {
 			createTextException();
+			parent.pack();
 		} else {
-			textException.setVisible(true);
-			((GridData)textException.getLayoutData()).exclude = false;
-			parent.shell.layout();
+			parent.showControl(exceptionViewer);
 		}
-		parent.pack();
 	}
 
 	// ------------------------------------------- Getters & Setters
@@ -516,10 +763,41 @@ public class MessageArea extends DialogArea {
 	 */
 	public MessageArea setIcon(final Image icon) {
 		this.icon = icon;
+		loadedIcon = null;
+		setInitialised(true);
+		return this;
+	}
+
+	/**
+	 * Display an icon decoded outside of the UI thread. If it is not decoded
+	 * when the dialog box is rendered, a blank placeholder of the same size is
+	 * displayed until it is ready
+	 *
+	 * @param source path of the file or class path resource of the icon
+	 * @param size width and height of the icon
+	 * @return the current message area
+	 */
+	public MessageArea setIcon(final String source, final int size) {
+		icon = null;
+		loadedIcon = IconLoader.load(source, size, IconLoader.getZoom(Display.getCurrent()));
+		loadedIconSize = size;
 		setInitialised(true);
 		return this;
 	}
 
+	/**
+	 * Create the image of the icon when the dialog box is rendered
+	 *
+	 * @param swap called with the decoded icon when it replaces its placeholder
+	 * @return the image of the icon, <code>null</code> if there is none
+	 */
+	Image createIconImage(final Consumer<Image> swap) {
+		if (loadedIcon == null) {
+			return icon;
+		}
+		return IconLoader.createImage(parent.shell, loadedIcon, loadedIconSize, swap);
+	}
+
 	/**
 	 * @return the text
 	 */
@@ -534,8 +812,7 @@ public class MessageArea extends DialogArea {
 		this.text = text;
 		setInitialised(true);
 		if (progressBar != null && label != null && !label.isDisposed()) {
-			label.setText(text);
-			SWTGraphicUtil.applyHTMLFormating(label);
+			SWTGraphicUtil.applyHTMLFormating(label, text);
 		}
 		return this;
 	}
@@ -547,6 +824,44 @@ public class MessageArea extends DialogArea {
 		return radioChoice;
 	}
 
+	/**
+	 * @return the number of radio values above which a virtual list is displayed
+	 *         in place of radio buttons
+	 */
+	public int getRadioVirtualThreshold() {
+		return radioVirtualThreshold;
+	}
+
+	/**
+	 * @param radioVirtualThreshold the number of radio values above which a
+	 *            virtual list is displayed in place of radio buttons, -1 to always
+	 *            display radio buttons
+	 * @return the current message area
+	 */
+	public MessageArea setRadioVirtualThreshold(final int radioVirtualThreshold) {
+		this.radioVirtualThreshold = radioVirtualThreshold;
+		return this;
+	}
+
+	/**
+	 * @return <code>true</code> if the filter of large radio and choice lists
+	 *         matches the values containing the typed characters in order
+	 */
+	public boolean isFuzzyFilter() {
+		return fuzzyFilter;
+	}
+
+	/**
+	 * @param fuzzyFilter if <code>true</code>, the filter of large radio and
+	 *            choice lists matches the values containing the typed characters
+	 *            in order, otherwise the values containing the typed text
+	 * @return the current message area
+	 */
+	public MessageArea setFuzzyFilter(final boolean fuzzyFilter) {
+		this.fuzzyFilter = fuzzyFilter;
+		return this;
+	}
+
 	/**
 	 * @return the exception
 	 */
@@ -560,10 +875,45 @@ public class MessageArea extends DialogArea {
 	 */
 	public MessageArea setException(final Throwable exception) {
 		this.exception = exception;
+		occurrences = 0;
+		occurrenceHistory.clear();
+		addOccurrence(System.currentTimeMillis());
 		setInitialised(true);
 		return this;
 	}
 
+	/**
+	 * @return the number of times the exception occurred while the dialog box
+	 *         was open
+	 */
+	public int getOccurrences() {
+		return occurrences;
+	}
+
+	/**
+	 * @return the times of the last occurrences of the exception, in
+	 *         milliseconds, oldest first
+	 */
+	public List<Long> getOccurrenceHistory() {
+		return new ArrayList<>(occurrenceHistory);
+	}
+
+	/**
+	 * @return the maximum number of occurrence times kept
+	 */
+	public int getOccurrenceHistorySize() {
+		return occurrenceHistorySize;
+	}
+
+	/**
+	 * @param occurrenceHistorySize the maximum number of occurrence times kept
+	 * @return the current message area
+	 */
+	public MessageArea setOccurrenceHistorySize(final int occurrenceHistorySize) {
+		this.occurrenceHistorySize = occurrenceHistorySize;
+		return this;
+	}
+
 	/**
 	 * @return the choice
 	 */
@@ -571,13 +921,126 @@ public class MessageArea extends DialogArea {
 		return choice;
 	}
 
+	/**
+	 * @return the number of choice items above which an owner drawn list is
+	 *         displayed in place of choice widgets
+	 */
+	public int getChoiceVirtualThreshold() {
+		return choiceVirtualThreshold;
+	}
+
+	/**
+	 * @param choiceVirtualThreshold the number of choice items above which an
+	 *            owner drawn list is displayed in place of choice widgets, -1 to
+	 *            always create choice widgets
+	 * @return the current message area
+	 */
+	public MessageArea setChoiceVirtualThreshold(final int choiceVirtualThreshold) {
+		this.choiceVirtualThreshold = choiceVirtualThreshold;
+		return this;
+	}
+
 	/**
 	 * @return the value stored in the text box
 	 */
 	public String getTextBoxValue() {
+		if (textBox != null && !textBox.isDisposed()) {
+			return textBox.getText();
+		}
 		return textBoxValue;
 	}
 
+	/**
+	 * @param value new value of the text box
+	 */
+	public void setTextBoxValue(final String value) {
+		textBoxValue = value;
+		if (textBox != null && !textBox.isDisposed()) {
+			textBox.setText(value);
+		}
+	}
+
+	/**
+	 * Display a dropdown of suggestions matching the content of the text box
+	 *
+	 * @param sourceId identifier of the suggestions used to cache their index,
+	 *            <code>null</code> to build a new index for this dialog box
+	 * @param source supplier of the suggestions, called outside of the UI thread
+	 * @return the current message area
+	 */
+	public MessageArea setTextBoxSuggestions(final String sourceId, final Supplier<? extends Collection<String>> source) {
+		suggestionSourceId = sourceId;
+		suggestionSource = source;
+		return this;
+	}
+
+	/**
+	 * @param sourceId identifier of the suggestions used to cache their index,
+	 *            <code>null</code> to build a new index for this dialog box
+	 * @param suggestions suggestions displayed under the text box
+	 * @return the current message area
+	 */
+	public MessageArea setTextBoxSuggestions(final String sourceId, final Collection<String> suggestions) {
+		return setTextBoxSuggestions(sourceId, () -> suggestions);
+	}
+
+	/**
+	 * @return the maximum number of suggestions displayed
+	 */
+	public int getTextBoxSuggestionLimit() {
+		return suggestionLimit;
+	}
+
+	/**
+	 * @param suggestionLimit the maximum number of suggestions displayed
+	 * @return the current message area
+	 */
+	public MessageArea setTextBoxSuggestionLimit(final int suggestionLimit) {
+		this.suggestionLimit = suggestionLimit;
+		return this;
+	}
+
+	/**
+	 * @return the validation of the text box, with its latency and cancellation
+	 *         counters
+	 */
+	public InputValidation getInputValidation() {
+		return inputValidation;
+	}
+
+	/**
+	 * @return <code>true</code> if the text box accepts several lines
+	 */
+	public boolean isTextBoxMultiLine() {
+		return textBoxMultiLine;
+	}
+
+	/**
+	 * @param textBoxMultiLine if <code>true</code>, the text box accepts several
+	 *            lines and the enter key no longer closes the dialog box
+	 * @return the current message area
+	 */
+	public MessageArea setTextBoxMultiLine(final boolean textBoxMultiLine) {
+		this.textBoxMultiLine = textBoxMultiLine;
+		return this;
+	}
+
+	/**
+	 * @return the maximum number of characters of the text box, -1 if unlimited
+	 */
+	public int getTextBoxLimit() {
+		return textBoxLimit;
+	}
+
+	/**
+	 * @param textBoxLimit the maximum number of characters of the text box
+	 * @return the current message area
+	 */
+	public MessageArea setTextBoxLimit(final int textBoxLimit) {
+		this.textBoxLimit = textBoxLimit;
+		return this;
+	}
+
 	/**
 	 * @return the progress bar minimum value
 	 */
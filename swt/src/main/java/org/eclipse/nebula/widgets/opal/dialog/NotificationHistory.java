@@ -0,0 +1,187 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+/**
+ * Instances of this class keep the last notifications displayed: title, text,
+ * buttons, selected button and the times the notification was displayed and
+ * closed. Notifications are stored in preallocated arrays used as a ring
+ * buffer, the oldest being overwritten when it is full, so that recording a
+ * notification only sets a few array slots.
+ * <p>
+ * Each notification is identified by an increasing number. The notifications
+ * kept are those from {@link #getFirstId()} included to {@link #getNextId()}
+ * excluded; the getters return default values for the others.
+ * </p>
+ */
+public class NotificationHistory {
+	public static final int DEFAULT_CAPACITY = 500;
+
+	private static NotificationHistory defaultHistory;
+
+	private final int capacity;
+	private final String[] titles;
+	private final String[] texts;
+	private final String[][] buttons;
+	private final long[] shownAt;
+	private final long[] closedAt;
+	private final int[] answers;
+	private long firstId;
+	private long nextId;
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity maximum number of notifications kept
+	 */
+	public NotificationHistory(final int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity must be positive");
+		}
+		this.capacity = capacity;
+		titles = new String[capacity];
+		texts = new String[capacity];
+		buttons = new String[capacity][];
+		shownAt = new long[capacity];
+		closedAt = new long[capacity];
+		answers = new int[capacity];
+	}
+
+	/**
+	 * @return the history of the notifications displayed by the Cordova plugin
+	 */
+	public static synchronized NotificationHistory getDefault() {
+		if (defaultHistory == null) {
+			defaultHistory = new NotificationHistory(DEFAULT_CAPACITY);
+		}
+		return defaultHistory;
+	}
+
+	/**
+	 * Record a notification when it is displayed
+	 *
+	 * @param title title, may be null
+	 * @param text text, may be null
+	 * @param buttonLabels labels of the buttons, may be null
+	 * @return the id of the notification
+	 */
+	public synchronized long record(final String title, final String text, final String[] buttonLabels) {
+		final int slot = (int) (nextId % capacity);
+		titles[slot] = title;
+		texts[slot] = text;
+		buttons[slot] = buttonLabels;
+		shownAt[slot] = System.currentTimeMillis();
+		closedAt[slot] = 0;
+		answers[slot] = -1;
+		return nextId++;
+	}
+
+	/**
+	 * Record the closing of a notification, ignored if it is no longer kept
+	 *
+	 * @param id id of the notification
+	 * @param answer index of the selected button, -1 if none
+	 */
+	public synchronized void close(final long id, final int answer) {
+		if (isKept(id)) {
+			final int slot = (int) (id % capacity);
+			closedAt[slot] = System.currentTimeMillis();
+			answers[slot] = answer;
+		}
+	}
+
+	/**
+	 * Forget all the notifications. The ids keep increasing, so that closing a
+	 * notification displayed before does not change a new one.
+	 */
+	public synchronized void clear() {
+		for (int i = 0; i < capacity; i++) {
+			titles[i] = null;
+			texts[i] = null;
+			buttons[i] = null;
+		}
+		firstId = nextId;
+	}
+
+	private boolean isKept(final long id) {
+		return id >= getFirstId() && id < nextId;
+	}
+
+	// ------------------------------------------- Getters & Setters
+
+	/**
+	 * @return the maximum number of notifications kept
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return the id of the oldest notification kept
+	 */
+	public synchronized long getFirstId() {
+		return Math.max(firstId, nextId - capacity);
+	}
+
+	/**
+	 * @return the id of the next notification
+	 */
+	public synchronized long getNextId() {
+		return nextId;
+	}
+
+	/**
+	 * @param id id of a notification
+	 * @return its title, null if it is no longer kept
+	 */
+	public synchronized String getTitle(final long id) {
+		return isKept(id) ? titles[(int) (id % capacity)] : null;
+	}
+
+	/**
+	 * @param id id of a notification
+	 * @return its text, null if it is no longer kept
+	 */
+	public synchronized String getText(final long id) {
+		return isKept(id) ? texts[(int) (id % capacity)] : null;
+	}
+
+	/**
+	 * @param id id of a notification
+	 * @return the labels of its buttons, null if it is no longer kept
+	 */
+	public synchronized String[] getButtonLabels(final long id) {
+		return isKept(id) ? buttons[(int) (id % capacity)] : null;
+	}
+
+	/**
+	 * @param id id of a notification
+	 * @return the index of the selected button, -1 if no button was selected
+	 */
+	public synchronized int getAnswer(final long id) {
+		return isKept(id) ? answers[(int) (id % capacity)] : -1;
+	}
+
+	/**
+	 * @param id id of a notification
+	 * @return the time it was displayed, 0 if it is no longer kept
+	 */
+	public synchronized long getShownAt(final long id) {
+		return isKept(id) ? shownAt[(int) (id % capacity)] : 0;
+	}
+
+	/**
+	 * @param id id of a notification
+	 * @return the time it was closed, 0 if it is still open or no longer kept
+	 */
+	public synchronized long getClosedAt(final long id) {
+		return isKept(id) ? closedAt[(int) (id % capacity)] : 0;
+	}
+}
@@ -9,10 +9,28 @@
 //end - license
 package org.eclipse.nebula.widgets.opal.dialog;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class provides the labels displayed by the dialog boxes. The constants
+ * of this class are the English labels; they are translated with the
+ * <code>labels</code> bundle of this package for the current locale, read the
+ * first time a label is needed and kept in a table indexed by constant. The
+ * table is replaced at once when the locale changes.
+ * <p>
+ * The dialog boxes get their labels by index, which is an array read; the
+ * constants are mapped to their index by a hash lookup.
+ * </p>
+ */
 public class ResourceManager {
 
-	public static final String FEWER_DETAILS = "Fewer Detaiils";
-	public static final String MORE_DETAILS =  "More Details";
+	public static final String FEWER_DETAILS = "Fewer Details";
+	public static final String MORE_DETAILS = "More Details";
 	public static final String INPUT = "Input";
 	public static final String APPLICATION_ERROR = "Application Error";
 	public static final String INFORMATION = "Information";
@@ -20,13 +38,123 @@ public class ResourceManager {
 	public static final String CHOICE = "Choice";
 	public static final String EXCEPTION = "Exception";
 	public static final String CLOSE = "Close";
+	public static final String COPY = "Copy";
 	public static final String OK = "Ok";
 	public static final String CANCEL = "Cancel";
 	public static final String SELECT = "Select";
 	public static final String NO = "No";
 	public static final String YES = "Yes";
-	public static String getLabel(String label) {
-		return label;
+	public static final String DONT_ASK_AGAIN = "Don't ask again";
+	public static final String HISTORY = "History";
+	public static final String SEARCH = "Search";
+	public static final String TIME = "Time";
+	public static final String TITLE = "Title";
+	public static final String MESSAGE = "Message";
+	public static final String ANSWER = "Answer";
+	public static final String OCCURRENCES = "{0} occurrences, last at {1,time,HH:mm:ss}";
+
+	// Indexes of the constants in the table, for the dialog boxes
+	static final int FEWER_DETAILS_INDEX = 0;
+	static final int MORE_DETAILS_INDEX = 1;
+	static final int INPUT_INDEX = 2;
+	static final int APPLICATION_ERROR_INDEX = 3;
+	static final int INFORMATION_INDEX = 4;
+	static final int WARNING_INDEX = 5;
+	static final int CHOICE_INDEX = 6;
+	static final int EXCEPTION_INDEX = 7;
+	static final int CLOSE_INDEX = 8;
+	static final int COPY_INDEX = 9;
+	static final int OK_INDEX = 10;
+	static final int CANCEL_INDEX = 11;
+	static final int SELECT_INDEX = 12;
+	static final int NO_INDEX = 13;
+	static final int YES_INDEX = 14;
+	static final int DONT_ASK_AGAIN_INDEX = 15;
+	static final int HISTORY_INDEX = 16;
+	static final int SEARCH_INDEX = 17;
+	static final int TIME_INDEX = 18;
+	static final int TITLE_INDEX = 19;
+	static final int MESSAGE_INDEX = 20;
+	static final int ANSWER_INDEX = 21;
+	static final int OCCURRENCES_INDEX = 22;
+
+	private static final String BUNDLE = "org.eclipse.nebula.widgets.opal.dialog.labels";
+
+	// The constants, also the labels used when the bundle is missing or does not have a key
+	private static final String[] DEFAULTS = { FEWER_DETAILS, MORE_DETAILS, INPUT, APPLICATION_ERROR, INFORMATION, WARNING, CHOICE, EXCEPTION, CLOSE, COPY, OK, CANCEL, SELECT, NO, YES, DONT_ASK_AGAIN, HISTORY, SEARCH, TIME, TITLE, MESSAGE, ANSWER, OCCURRENCES };
+	// Keys of the labels in the bundle, in the order of the constants
+	private static final String[] KEYS = { "fewerDetails", "moreDetails", "input", "applicationError", "information", "warning", "choice", "exception", "close", "copy", "ok", "cancel", "select", "no", "yes", "dontAskAgain", "history", "search", "time", "title", "message", "answer", "occurrences" };
+	// Index of each constant in the table
+	private static final Map<String, Integer> INDEXES = new HashMap<>();
+
+	static {
+		for (int i = 0; i < DEFAULTS.length; i++) {
+			INDEXES.put(DEFAULTS[i], i);
+		}
+		// Value of FEWER_DETAILS in previous versions, inlined in the classes compiled with them
+		INDEXES.put("Fewer Detaiils", 0);
+	}
+
+	private static final AtomicReference<String[]> LABELS = new AtomicReference<>();
+	private static volatile Locale locale;
+
+	/**
+	 * @param label one of the constants of this class
+	 * @return the label in the current locale, the given label if it is not one
+	 *         of the constants of this class
+	 */
+	public static String getLabel(final String label) {
+		final Integer index = INDEXES.get(label);
+		return index == null ? label : getLabel(index.intValue());
+	}
+
+	/**
+	 * @param index index of a constant of this class, one of the
+	 *            <code>_INDEX</code> constants
+	 * @return the label in the current locale
+	 */
+	static String getLabel(final int index) {
+		String[] labels = LABELS.get();
+		if (labels == null) {
+			LABELS.compareAndSet(null, compile(getLocale()));
+			labels = LABELS.get();
+		}
+		return labels[index];
+	}
+
+	/**
+	 * @return the locale of the labels, the default locale if none has been set
+	 */
+	public static Locale getLocale() {
+		final Locale current = locale;
+		return current == null ? Locale.getDefault() : current;
+	}
+
+	/**
+	 * Change the locale of the labels. Dialog boxes already opened keep their
+	 * labels.
+	 *
+	 * @param locale the new locale, null for the default locale
+	 */
+	public static void setLocale(final Locale locale) {
+		ResourceManager.locale = locale;
+		LABELS.set(compile(getLocale()));
+	}
+
+	private static String[] compile(final Locale locale) {
+		final String[] labels = DEFAULTS.clone();
+		final ResourceBundle bundle;
+		try {
+			bundle = ResourceBundle.getBundle(BUNDLE, locale, ResourceManager.class.getClassLoader());
+		} catch (final MissingResourceException e) {
+			return labels;
+		}
+		for (int i = 0; i < KEYS.length; i++) {
+			if (bundle.containsKey(KEYS[i])) {
+				labels[i] = bundle.getString(KEYS[i]);
+			}
+		}
+		return labels;
 	}
 
 }
@@ -17,7 +17,6 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.graphics.Resource;
 import org.eclipse.swt.widgets.Display;
-import org.eclipse.swt.widgets.Monitor;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Widget;
 
@@ -29,11 +28,7 @@ public class SWTGraphicUtil {
 		if (shell.isDisposed()) {
 			SWT.error(SWT.ERROR_WIDGET_DISPOSED);
 		}
-		Monitor monitor = shell.getMonitor();
-		if (monitor == null) {
-			monitor = shell.getDisplay().getPrimaryMonitor();
-		}
-		return monitor.getBounds();
+		return DialogPlacement.get(shell.getDisplay()).getMonitorBounds(shell);
 	}
 
 	public static boolean isMacOS() {
@@ -65,7 +60,35 @@ public class SWTGraphicUtil {
 		}
 	}
 
-	public static void applyHTMLFormating(StyledText label) {
-		
+	/**
+	 * Display the text of a styled text, marked up with a subset of HTML
+	 * (&lt;b&gt;, &lt;strong&gt;, &lt;i&gt;, &lt;em&gt;, &lt;u&gt;, &lt;a&gt;,
+	 * &lt;br&gt; and entities), without markup and with the corresponding styles
+	 *
+	 * @param label styled text to format
+	 */
+	public static void applyHTMLFormating(final StyledText label) {
+		applyHTMLFormating(label, label.getText());
+	}
+
+	/**
+	 * Display a text marked up with a subset of HTML in a styled text. The result
+	 * of the parsing is kept, so formatting the same text again does not parse it
+	 * again.
+	 *
+	 * @param label styled text
+	 * @param html text to display
+	 * @see #applyHTMLFormating(StyledText)
+	 */
+	public static void applyHTMLFormating(final StyledText label, final String html) {
+		if (html == null) {
+			return;
+		}
+		final HTMLFormatter.Result result = HTMLFormatter.format(html);
+		label.setText(result.text);
+		if (result.styles.length > 0) {
+			// The widget keeps the arrays it is given
+			label.setStyleRanges(result.ranges.clone(), result.styles.clone());
+		}
 	}
 }
@@ -0,0 +1,229 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Instances of this class are the nodes of the tree that displays an exception.
+ * A node is either a throwable of the chain (the exception, its causes and its
+ * suppressed exceptions), a stack frame, a run of repeated frames, a page of
+ * frames or the "... n more" line of the frames in common with the enclosing
+ * trace.
+ * <p>
+ * Nothing is computed before it is displayed: the children of a node are
+ * created the first time they are asked for, and the label of a frame is
+ * formatted the first time it is painted.
+ * </p>
+ */
+class StackTraceNode {
+	static final int PAGE_SIZE = 200;
+	private static final int MAX_PERIOD = 32;
+
+	private enum Kind {
+		THROWABLE, FRAME, REPEAT, PAGE, MORE
+	}
+
+	private final Kind kind;
+	private final StackTraceNode parent;
+	private final Throwable throwable;
+	private final String caption;
+	private final StackTraceElement[] frames;
+	private final int start;
+	private final int count;
+	private final int repeat;
+
+	private String label;
+	private List<StackTraceNode> children;
+
+	private StackTraceNode(final Kind kind, final StackTraceNode parent, final Throwable throwable, final String caption, final StackTraceElement[] frames, final int start, final int count, final int repeat) {
+		this.kind = kind;
+		this.parent = parent;
+		this.throwable = throwable;
+		this.caption = caption;
+		this.frames = frames;
+		this.start = start;
+		this.count = count;
+		this.repeat = repeat;
+	}
+
+	/**
+	 * @param throwable the exception to display
+	 * @return the root node of the tree of the exception
+	 */
+	static StackTraceNode of(final Throwable throwable) {
+		return new StackTraceNode(Kind.THROWABLE, null, throwable, "", null, 0, 0, 0);
+	}
+
+	/**
+	 * @return <code>true</code> if the node may have children, which does not
+	 *         create them
+	 */
+	boolean hasChildren() {
+		return children != null ? !children.isEmpty() : kind == Kind.THROWABLE && !isCircular() || kind == Kind.REPEAT || kind == Kind.PAGE;
+	}
+
+	/**
+	 * @return the label of the node, formatted the first time it is asked for
+	 */
+	String getLabel() {
+		if (label == null) {
+			label = format();
+		}
+		return label;
+	}
+
+	/**
+	 * @return the children of the node, created the first time they are asked for
+	 */
+	List<StackTraceNode> getChildren() {
+		if (children == null) {
+			children = createChildren();
+		}
+		return children;
+	}
+
+	private String format() {
+		switch (kind) {
+			case THROWABLE:
+				return isCircular() ? caption + "[CIRCULAR REFERENCE: " + throwable + "]" : caption + throwable;
+			case FRAME:
+				return "at " + frames[start];
+			case REPEAT:
+				return "... " + repeat + " times the " + (count == 1 ? "frame" : count + " frames") + " below";
+			case PAGE:
+				return "frames " + (start + 1) + " - " + (start + count);
+			default:
+				return "... " + count + " more";
+		}
+	}
+
+	private boolean isCircular() {
+		for (StackTraceNode node = parent; node != null; node = node.parent) {
+			if (node.throwable == throwable) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<StackTraceNode> createChildren() {
+		switch (kind) {
+			case THROWABLE:
+				return isCircular() ? Collections.emptyList() : createThrowableChildren();
+			case REPEAT:
+				return createFrames(frames, start, start + count);
+			case PAGE:
+				return createSegments(frames, start, start + count);
+			default:
+				return Collections.emptyList();
+		}
+	}
+
+	private List<StackTraceNode> createThrowableChildren() {
+		final List<StackTraceNode> result = new ArrayList<>();
+		final StackTraceElement[] trace = throwable.getStackTrace();
+
+		// Frames in common with the enclosing trace are summarized, like
+		// Throwable.printStackTrace does
+		int end = trace.length;
+		final StackTraceElement[] enclosing = parent == null ? null : parent.throwable.getStackTrace();
+		if (enclosing != null) {
+			int j = enclosing.length - 1;
+			while (end > 0 && j >= 0 && trace[end - 1].equals(enclosing[j])) {
+				end--;
+				j--;
+			}
+		}
+
+		final List<StackTraceNode> segments = createSegments(trace, 0, end);
+		if (segments.size() > PAGE_SIZE) {
+			result.addAll(createPages(trace, segments));
+		} else {
+			result.addAll(segments);
+		}
+		if (end < trace.length) {
+			result.add(new StackTraceNode(Kind.MORE, this, null, null, null, 0, trace.length - end, 0));
+		}
+
+		for (final Throwable suppressed : throwable.getSuppressed()) {
+			result.add(new StackTraceNode(Kind.THROWABLE, this, suppressed, "Suppressed: ", null, 0, 0, 0));
+		}
+		if (throwable.getCause() != null) {
+			result.add(new StackTraceNode(Kind.THROWABLE, this, throwable.getCause(), "Caused by: ", null, 0, 0, 0));
+		}
+		return result;
+	}
+
+	/**
+	 * Group the segments of a long trace by pages of frames, the segments are
+	 * created again by the page when it is expanded
+	 */
+	private List<StackTraceNode> createPages(final StackTraceElement[] trace, final List<StackTraceNode> segments) {
+		final List<StackTraceNode> pages = new ArrayList<>();
+		for (int i = 0; i < segments.size(); i += PAGE_SIZE) {
+			final StackTraceNode first = segments.get(i);
+			final StackTraceNode last = segments.get(Math.min(segments.size(), i + PAGE_SIZE) - 1);
+			final int end = last.start + (last.kind == Kind.REPEAT ? last.count * last.repeat : 1);
+			pages.add(new StackTraceNode(Kind.PAGE, this, null, null, trace, first.start, end - first.start, 0));
+		}
+		return pages;
+	}
+
+	private List<StackTraceNode> createFrames(final StackTraceElement[] trace, final int from, final int to) {
+		final List<StackTraceNode> result = new ArrayList<>(to - from);
+		for (int i = from; i < to; i++) {
+			result.add(new StackTraceNode(Kind.FRAME, this, null, null, trace, i, 1, 0));
+		}
+		return result;
+	}
+
+	/**
+	 * Split the frames in single frames and runs of repeated frames, as in the
+	 * trace of a StackOverflowError
+	 */
+	private List<StackTraceNode> createSegments(final StackTraceElement[] trace, final int from, final int to) {
+		final List<StackTraceNode> result = new ArrayList<>();
+		int i = from;
+		while (i < to) {
+			int period = 0;
+			int repeat = 1;
+			for (int p = 1; p <= MAX_PERIOD && i + 2 * p <= to; p++) {
+				int r = 1;
+				while (i + (r + 1) * p <= to && sameFrames(trace, i, i + r * p, p)) {
+					r++;
+				}
+				if (r > 1 && r * p > repeat * period) {
+					period = p;
+					repeat = r;
+				}
+			}
+			if (period == 0) {
+				result.add(new StackTraceNode(Kind.FRAME, this, null, null, trace, i, 1, 0));
+				i++;
+			} else {
+				result.add(new StackTraceNode(Kind.REPEAT, this, null, null, trace, i, period, repeat));
+				i += period * repeat;
+			}
+		}
+		return result;
+	}
+
+	private static boolean sameFrames(final StackTraceElement[] trace, final int first, final int second, final int length) {
+		for (int k = 0; k < length; k++) {
+			if (!trace[first + k].equals(trace[second + k])) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
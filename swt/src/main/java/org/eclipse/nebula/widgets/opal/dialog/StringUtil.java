@@ -17,6 +17,18 @@ public class StringUtil {
 		return title == null || title.isEmpty();
 	}
 
+	public static boolean isBlank(String value) {
+		if (value == null) {
+			return true;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public static String stackStraceAsString(Throwable exception) {
 		final StringWriter stringWriter = new StringWriter();
 		exception.printStackTrace(new PrintWriter(stringWriter));
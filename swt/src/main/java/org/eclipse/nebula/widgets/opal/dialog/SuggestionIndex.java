@@ -0,0 +1,209 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Instances of this class are immutable prefix indexes over a set of
+ * suggestions. Suggestions are kept in a sorted array of lower case keys so
+ * that the matches of a prefix are found by a binary search followed by a
+ * scan of at most the requested number of entries.
+ * <p>
+ * Indexes are cached by source identifier, limited by their total number of
+ * suggestions, the least recently used being evicted first.
+ * </p>
+ */
+public class SuggestionIndex {
+	public static final int DEFAULT_CACHE_SIZE = 500000;
+
+	private static final Map<String, CompletableFuture<SuggestionIndex>> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+	private static int cacheSize = DEFAULT_CACHE_SIZE;
+	private static int cacheWeight;
+
+	private final String[] keys;
+	private final String[] values;
+
+	/**
+	 * Constructor
+	 *
+	 * @param suggestions suggestions to index
+	 */
+	public SuggestionIndex(final Collection<String> suggestions) {
+		final Entry[] entries = new Entry[suggestions.size()];
+		int i = 0;
+		for (final String suggestion : suggestions) {
+			entries[i++] = new Entry(suggestion.toLowerCase(Locale.ROOT), suggestion);
+		}
+		Arrays.sort(entries, 0, i, (a, b) -> a.key.compareTo(b.key));
+
+		keys = new String[i];
+		values = new String[i];
+		for (int j = 0; j < i; j++) {
+			keys[j] = entries[j].key;
+			values[j] = entries[j].value;
+		}
+	}
+
+	/**
+	 * Get the index of a suggestion source, building it outside of the UI thread
+	 * the first time. Indexes are cached by source identifier.
+	 *
+	 * @param sourceId identifier of the source, <code>null</code> to skip the
+	 *            cache
+	 * @param source supplier of the suggestions, called outside of the UI thread
+	 * @return a future completed with the index
+	 */
+	public static CompletableFuture<SuggestionIndex> get(final String sourceId, final Supplier<? extends Collection<String>> source) {
+		if (sourceId == null) {
+			return build(source);
+		}
+		final CompletableFuture<SuggestionIndex> future;
+		synchronized (CACHE) {
+			final CompletableFuture<SuggestionIndex> cached = CACHE.get(sourceId);
+			if (cached != null) {
+				return cached;
+			}
+			future = build(source);
+			CACHE.put(sourceId, future);
+		}
+		future.whenComplete((index, error) -> {
+			synchronized (CACHE) {
+				if (CACHE.get(sourceId) != future) {
+					// Invalidated or evicted while it was built
+					return;
+				}
+				if (error != null) {
+					// A failed build is not kept, the next call builds the index again
+					CACHE.remove(sourceId);
+				} else {
+					cacheWeight += weight(future);
+					evict();
+				}
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Remove an index from the cache, the next call to <code>get</code> rebuilds
+	 * it
+	 *
+	 * @param sourceId identifier of the source
+	 */
+	public static void invalidate(final String sourceId) {
+		synchronized (CACHE) {
+			final CompletableFuture<SuggestionIndex> future = CACHE.remove(sourceId);
+			if (future != null) {
+				cacheWeight -= weight(future);
+			}
+		}
+	}
+
+	/**
+	 * @param size maximum total number of suggestions of the cached indexes
+	 */
+	public static void setCacheSize(final int size) {
+		synchronized (CACHE) {
+			cacheSize = size;
+			evict();
+		}
+	}
+
+	private static void evict() {
+		final Iterator<CompletableFuture<SuggestionIndex>> iterator = CACHE.values().iterator();
+		while (cacheWeight > cacheSize && iterator.hasNext()) {
+			final CompletableFuture<SuggestionIndex> future = iterator.next();
+			// Indexes being built are not counted yet
+			final int weight = weight(future);
+			if (weight > 0) {
+				iterator.remove();
+				cacheWeight -= weight;
+			}
+		}
+	}
+
+	private static int weight(final CompletableFuture<SuggestionIndex> future) {
+		final SuggestionIndex index = future.isDone() && !future.isCompletedExceptionally() ? future.getNow(null) : null;
+		// Empty indexes count for one so that the number of entries is bounded too
+		return index == null ? 0 : index.size() + 1;
+	}
+
+	private static CompletableFuture<SuggestionIndex> build(final Supplier<? extends Collection<String>> source) {
+		final CompletableFuture<SuggestionIndex> future = new CompletableFuture<>();
+		DialogExecutor.submit(() -> {
+			try {
+				future.complete(new SuggestionIndex(source.get()));
+			} catch (final RuntimeException e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Find the suggestions starting with a prefix, ignoring case
+	 *
+	 * @param prefix prefix typed by the user
+	 * @param max maximum number of suggestions to return
+	 * @return the matching suggestions in alphabetical order
+	 */
+	public List<String> find(final String prefix, final int max) {
+		final List<String> result = new ArrayList<>(Math.min(max, 16));
+		if (prefix.isEmpty()) {
+			return result;
+		}
+		final String key = prefix.toLowerCase(Locale.ROOT);
+		for (int i = lowerBound(key); i < keys.length && result.size() < max && keys[i].startsWith(key); i++) {
+			result.add(values[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of indexed suggestions
+	 */
+	public int size() {
+		return keys.length;
+	}
+
+	private int lowerBound(final String key) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (keys[middle].compareTo(key) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static class Entry {
+		private final String key;
+		private final String value;
+
+		Entry(final String key, final String value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+}
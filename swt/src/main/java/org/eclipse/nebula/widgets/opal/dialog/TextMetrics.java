@@ -0,0 +1,180 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.TextLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+
+/**
+ * This class measures texts without any widget and keeps the results, so that
+ * the geometry of a dialog box can be computed before it is created. Texts are
+ * measured on the display with the given font, and fonts are identified by
+ * their description so that equal fonts created by different dialog boxes
+ * share the same entries.
+ * <p>
+ * This class must be used in the UI thread.
+ * </p>
+ */
+class TextMetrics {
+	private static final int MAX_ENTRIES = 512;
+
+	private static final Map<Key, Point> EXTENTS = new Cache<>();
+	private static final Map<Key, Wrap> WRAPS = new Cache<>();
+	private static Point buttonTrim;
+	private static int separatorHeight = -1;
+
+	/**
+	 * Lines of a text wrapped at a width
+	 */
+	static class Wrap {
+		final int[] lineOffsets;
+		final int width;
+		final int height;
+		final int lineHeight;
+
+		private Wrap(final int[] lineOffsets, final int width, final int height) {
+			this.lineOffsets = lineOffsets;
+			this.width = width;
+			this.height = height;
+			final int lineCount = Math.max(1, lineOffsets.length - 1);
+			lineHeight = Math.max(1, height / lineCount);
+		}
+
+		/**
+		 * @return the number of lines
+		 */
+		int getLineCount() {
+			return Math.max(0, lineOffsets.length - 1);
+		}
+	}
+
+	/**
+	 * @param font font of the text
+	 * @param text text on a single line
+	 * @return the size of the text
+	 */
+	static Point extent(final Font font, final String text) {
+		final Key key = new Key(font, text, -1);
+		Point extent = EXTENTS.get(key);
+		if (extent == null) {
+			final GC gc = new GC(Display.getCurrent());
+			gc.setFont(font);
+			extent = gc.textExtent(text);
+			gc.dispose();
+			EXTENTS.put(key, extent);
+		}
+		return new Point(extent.x, extent.y);
+	}
+
+	/**
+	 * @param font font of the text
+	 * @param text text to wrap
+	 * @param width maximum width of a line, -1 to only break at line
+	 *            delimiters
+	 * @return the lines of the text wrapped at the width
+	 */
+	static Wrap wrap(final Font font, final String text, final int width) {
+		final Key key = new Key(font, text, width);
+		Wrap wrap = WRAPS.get(key);
+		if (wrap == null) {
+			final TextLayout layout = new TextLayout(Display.getCurrent());
+			layout.setFont(font);
+			layout.setText(text);
+			layout.setWidth(width);
+			wrap = new Wrap(layout.getLineOffsets(), layout.getBounds().width, layout.getBounds().height);
+			layout.dispose();
+			WRAPS.put(key, wrap);
+		}
+		return wrap;
+	}
+
+	/**
+	 * @param button a push button, measured only the first time this method is
+	 *            called
+	 * @return the space taken by a push button around its text
+	 */
+	static Point buttonTrim(final Button button) {
+		if (buttonTrim == null) {
+			final Point size = button.computeSize(SWT.DEFAULT, SWT.DEFAULT);
+			final Point text = extent(button.getFont(), button.getText());
+			buttonTrim = new Point(Math.max(0, size.x - text.x), Math.max(0, size.y - text.y));
+		}
+		return buttonTrim;
+	}
+
+	/**
+	 * @param separator a horizontal separator, measured only the first time
+	 *            this method is called
+	 * @return the height of a horizontal separator
+	 */
+	static int separatorHeight(final Label separator) {
+		if (separatorHeight == -1) {
+			separatorHeight = separator.computeSize(SWT.DEFAULT, SWT.DEFAULT).y;
+		}
+		return separatorHeight;
+	}
+
+	/**
+	 * Key of a measure: description of the font, text and width
+	 */
+	private static class Key {
+		private final String font;
+		private final String text;
+		private final int width;
+
+		Key(final Font font, final String text, final int width) {
+			final FontData fontData = font.getFontData()[0];
+			this.font = fontData.getName() + "-" + fontData.getHeight() + "-" + fontData.getStyle();
+			this.text = text;
+			this.width = width;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return width == other.width && font.equals(other.font) && text.equals(other.text);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(font, text, width);
+		}
+	}
+
+	/**
+	 * Map that forgets the least recently used entries
+	 */
+	private static class Cache<V> extends LinkedHashMap<Key, V> {
+		private static final long serialVersionUID = 1L;
+
+		Cache() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Key, V> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	}
+}
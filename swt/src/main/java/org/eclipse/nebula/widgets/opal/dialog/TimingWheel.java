@@ -0,0 +1,162 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Instances of this class run tasks after a delay with a hierarchical timing
+ * wheel driven by a single <code>timerExec</code> chain, whatever the number of
+ * pending tasks. The inner wheel has one slot per tick, the outer wheel one slot
+ * per turn of the inner wheel; tasks of the outer wheel move to the inner wheel
+ * when their turn comes. Scheduling and cancelling only touch one slot, and
+ * the chain stops when no task is pending.
+ * <p>
+ * Instances of this class must be used in the UI thread.
+ * </p>
+ */
+class TimingWheel {
+	private static final int SLOTS = 64;
+
+	private final Display display;
+	private final int tickLength;
+	private final List<List<Timeout>> inner = createWheel();
+	private final List<List<Timeout>> outer = createWheel();
+	// Tasks due after a full turn of the outer wheel
+	private final List<Timeout> overflow = new ArrayList<>();
+	private final Runnable tick = this::tick;
+
+	private long ticks;
+	private int pending;
+	private boolean running;
+
+	/**
+	 * Handle of a scheduled task
+	 */
+	static class Timeout {
+		private final Runnable task;
+		private final long deadline;
+		private List<Timeout> slot;
+
+		private Timeout(final Runnable task, final long deadline) {
+			this.task = task;
+			this.deadline = deadline;
+		}
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param display display whose UI thread runs the tasks
+	 * @param tickLength length of a tick, in milliseconds
+	 */
+	TimingWheel(final Display display, final int tickLength) {
+		this.display = display;
+		this.tickLength = tickLength;
+	}
+
+	private static List<List<Timeout>> createWheel() {
+		final List<List<Timeout>> wheel = new ArrayList<>(SLOTS);
+		for (int i = 0; i < SLOTS; i++) {
+			wheel.add(new ArrayList<>());
+		}
+		return wheel;
+	}
+
+	/**
+	 * Run a task after a delay, rounded up to the next tick
+	 *
+	 * @param delay delay in milliseconds
+	 * @param task task to run
+	 * @return the handle of the task, used to cancel it
+	 */
+	Timeout schedule(final int delay, final Runnable task) {
+		final long delayTicks = Math.max(1, (delay + tickLength - 1) / tickLength);
+		final Timeout timeout = new Timeout(task, ticks + delayTicks);
+		place(timeout);
+		pending++;
+		if (!running) {
+			running = true;
+			display.timerExec(tickLength, tick);
+		}
+		return timeout;
+	}
+
+	/**
+	 * Cancel a task that has not run yet
+	 *
+	 * @param timeout handle of the task
+	 */
+	void cancel(final Timeout timeout) {
+		if (timeout.slot != null) {
+			timeout.slot.remove(timeout);
+			timeout.slot = null;
+			pending--;
+		}
+	}
+
+	private void place(final Timeout timeout) {
+		final long remaining = timeout.deadline - ticks;
+		final List<Timeout> slot;
+		if (remaining < SLOTS) {
+			slot = inner.get((int) (timeout.deadline % SLOTS));
+		} else if (remaining < (long) SLOTS * SLOTS) {
+			slot = outer.get((int) (timeout.deadline / SLOTS % SLOTS));
+		} else {
+			slot = overflow;
+		}
+		timeout.slot = slot;
+		slot.add(timeout);
+	}
+
+	private void tick() {
+		ticks++;
+		if (ticks % SLOTS == 0) {
+			// The inner wheel starts a new turn: move the tasks of that turn down,
+			// the overflow first since some of its tasks may be due in this turn
+			if (ticks / SLOTS % SLOTS == 0) {
+				cascade(overflow);
+			}
+			cascade(outer.get((int) (ticks / SLOTS % SLOTS)));
+		}
+
+		final List<Timeout> slot = inner.get((int) (ticks % SLOTS));
+		if (!slot.isEmpty()) {
+			final List<Timeout> due = new ArrayList<>(slot);
+			slot.clear();
+			for (final Timeout timeout : due) {
+				timeout.slot = null;
+				pending--;
+			}
+			for (final Timeout timeout : due) {
+				timeout.task.run();
+			}
+		}
+
+		running = pending > 0;
+		if (running && !display.isDisposed()) {
+			display.timerExec(tickLength, tick);
+		}
+	}
+
+	private void cascade(final List<Timeout> slot) {
+		if (slot.isEmpty()) {
+			return;
+		}
+		final List<Timeout> timeouts = new ArrayList<>(slot);
+		slot.clear();
+		for (final Timeout timeout : timeouts) {
+			place(timeout);
+		}
+	}
+}
@@ -0,0 +1,249 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Instances of this class display non-modal notifications ("toasts") stacked
+ * in the bottom right corner of the screen. Each toast disappears after its
+ * timeout or when it is clicked. A few toasts are visible at a time, the
+ * others wait in a bounded queue; toasts are painted on a small pool of
+ * reused shells and their timeouts are managed by a single
+ * {@link TimingWheel}, so the number of shells and timers does not grow with
+ * the number of toasts. The title and the text may use the markup of the
+ * message area, which is removed: only its line breaks are kept.
+ * <p>
+ * Instances of this class must be used in the UI thread.
+ * </p>
+ */
+public class ToastManager {
+	public static final int DEFAULT_TIMEOUT = 3000;
+
+	private static final int MAX_VISIBLE = 5;
+	private static final int MAX_PENDING = 100;
+	private static final int WIDTH = 320;
+	private static final int MARGIN = 10;
+	private static final int TICK = 100;
+
+	private static ToastManager instance;
+
+	private final Display display;
+	private final TimingWheel wheel;
+	private final List<Shell> pool = new ArrayList<>();
+	private final List<Toast> visible = new ArrayList<>();
+	private final Deque<Toast> pending = new ArrayDeque<>();
+
+	/**
+	 * A notification
+	 */
+	private static class Toast {
+		private final String title;
+		private final String text;
+		private final int timeout;
+		private final Runnable onDismiss;
+		private Shell shell;
+		private TimingWheel.Timeout handle;
+		private int height;
+
+		private Toast(final String title, final String text, final int timeout, final Runnable onDismiss) {
+			// Toasts are painted as plain text, <br> being a line break
+			this.title = title == null ? null : HTMLFormatter.format(title).text;
+			this.text = text == null ? null : HTMLFormatter.format(text).text;
+			this.timeout = timeout;
+			this.onDismiss = onDismiss;
+		}
+	}
+
+	private ToastManager(final Display display) {
+		this.display = display;
+		wheel = new TimingWheel(display, TICK);
+	}
+
+	/**
+	 * @return the toast manager of the current display
+	 */
+	public static ToastManager getInstance() {
+		final Display display = Display.getCurrent();
+		if (instance == null || instance.display != display) {
+			instance = new ToastManager(display);
+		}
+		return instance;
+	}
+
+	/**
+	 * Show a toast, or queue it while the maximum number of toasts is displayed.
+	 * When the queue is full, the oldest queued toast is dismissed without being
+	 * displayed.
+	 *
+	 * @param title title of the toast, may be null
+	 * @param text text of the toast
+	 * @param timeout time in milliseconds before the toast disappears
+	 * @param onDismiss called when the toast is dismissed, may be null
+	 */
+	public void show(final String title, final String text, final int timeout, final Runnable onDismiss) {
+		final Toast toast = new Toast(title, text, timeout <= 0 ? DEFAULT_TIMEOUT : timeout, onDismiss);
+		if (visible.size() < MAX_VISIBLE) {
+			open(toast);
+			return;
+		}
+		if (pending.size() >= MAX_PENDING) {
+			complete(pending.removeFirst());
+		}
+		pending.addLast(toast);
+	}
+
+	/**
+	 * Dismiss all toasts, displayed or queued
+	 */
+	public void dismissAll() {
+		while (!pending.isEmpty()) {
+			complete(pending.removeFirst());
+		}
+		while (!visible.isEmpty()) {
+			dismiss(visible.get(0));
+		}
+	}
+
+	/**
+	 * @return the number of toasts displayed
+	 */
+	public int getVisibleCount() {
+		return visible.size();
+	}
+
+	/**
+	 * @return the number of toasts waiting to be displayed
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	private void open(final Toast toast) {
+		toast.shell = pool.isEmpty() ? createShell() : pool.remove(pool.size() - 1);
+		toast.shell.setData(toast);
+		toast.height = computeHeight(toast);
+		visible.add(toast);
+		stack();
+		toast.shell.setVisible(true);
+		toast.shell.redraw();
+		toast.handle = wheel.schedule(toast.timeout, () -> dismiss(toast));
+	}
+
+	private void dismiss(final Toast toast) {
+		if (!visible.remove(toast)) {
+			return;
+		}
+		wheel.cancel(toast.handle);
+		if (!toast.shell.isDisposed()) {
+			toast.shell.setVisible(false);
+			toast.shell.setData(null);
+			pool.add(toast.shell);
+		}
+		toast.shell = null;
+		complete(toast);
+
+		if (!pending.isEmpty()) {
+			open(pending.removeFirst());
+		} else {
+			stack();
+		}
+	}
+
+	private void complete(final Toast toast) {
+		if (toast.onDismiss != null) {
+			toast.onDismiss.run();
+		}
+	}
+
+	private Shell createShell() {
+		final Shell shell = new Shell(display, SWT.ON_TOP | SWT.NO_TRIM | SWT.TOOL | SWT.NO_FOCUS | SWT.DOUBLE_BUFFERED);
+		shell.setBackground(display.getSystemColor(SWT.COLOR_INFO_BACKGROUND));
+		shell.addListener(SWT.Paint, this::paint);
+		shell.addListener(SWT.MouseUp, e -> {
+			final Toast toast = (Toast) shell.getData();
+			if (toast != null) {
+				dismiss(toast);
+			}
+		});
+		shell.addListener(SWT.Dispose, e -> pool.remove(shell));
+		return shell;
+	}
+
+	private int computeHeight(final Toast toast) {
+		int height = MARGIN * 2;
+		if (!StringUtil.isEmpty(toast.title)) {
+			height += TextMetrics.extent(display.getSystemFont(), toast.title).y + MARGIN / 2;
+		}
+		if (!StringUtil.isEmpty(toast.text)) {
+			height += TextMetrics.wrap(display.getSystemFont(), toast.text, WIDTH - MARGIN * 2).height;
+		}
+		return height;
+	}
+
+	/**
+	 * Place the visible toasts from the bottom of the screen, the newest on top
+	 */
+	private void stack() {
+		final Rectangle area = DialogPlacement.get(display).getPrimaryClientArea();
+		int y = area.y + area.height - MARGIN;
+		for (final Toast toast : visible) {
+			y -= toast.height;
+			toast.shell.setBounds(area.x + area.width - WIDTH - MARGIN, y, WIDTH, toast.height);
+			y -= MARGIN;
+		}
+	}
+
+	private void paint(final Event event) {
+		final Shell shell = (Shell) event.widget;
+		final Toast toast = (Toast) shell.getData();
+		if (toast == null) {
+			return;
+		}
+		final GC gc = event.gc;
+		final Point size = shell.getSize();
+		gc.setForeground(display.getSystemColor(SWT.COLOR_WIDGET_NORMAL_SHADOW));
+		gc.drawRectangle(0, 0, size.x - 1, size.y - 1);
+
+		gc.setFont(display.getSystemFont());
+		gc.setForeground(display.getSystemColor(SWT.COLOR_INFO_FOREGROUND));
+		int y = MARGIN;
+		if (!StringUtil.isEmpty(toast.title)) {
+			gc.drawText(toast.title, MARGIN, y, true);
+			y += TextMetrics.extent(display.getSystemFont(), toast.title).y + MARGIN / 2;
+		}
+		if (!StringUtil.isEmpty(toast.text)) {
+			final TextMetrics.Wrap wrap = TextMetrics.wrap(display.getSystemFont(), toast.text, WIDTH - MARGIN * 2);
+			for (int line = 0; line < wrap.getLineCount(); line++) {
+				gc.drawText(stripDelimiter(toast.text.substring(wrap.lineOffsets[line], wrap.lineOffsets[line + 1])), MARGIN, y, true);
+				y += wrap.lineHeight;
+			}
+		}
+	}
+
+	private static String stripDelimiter(final String line) {
+		int end = line.length();
+		while (end > 0 && (line.charAt(end - 1) == '\n' || line.charAt(end - 1) == '\r')) {
+			end--;
+		}
+		return line.substring(0, end);
+	}
+}
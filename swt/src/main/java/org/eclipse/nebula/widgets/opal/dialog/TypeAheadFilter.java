@@ -0,0 +1,106 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Instances of this class filter a set of texts as the user types. When the
+ * new query refines the previous one, only the previous matches are checked;
+ * otherwise the candidates come from a {@link FilterIndex} built outside of
+ * the UI thread, or from a scan of all texts while the index is not ready.
+ */
+class TypeAheadFilter {
+	private final String[] texts;
+	private final boolean fuzzy;
+	private final CompletableFuture<FilterIndex> index;
+
+	private String lastKey;
+	private int[] lastResult;
+
+	/**
+	 * Constructor, starts building the index
+	 *
+	 * @param texts texts to filter
+	 * @param fuzzy if <code>true</code>, a text matches when it contains the
+	 *            characters of the query in order, otherwise when it contains
+	 *            the query
+	 */
+	TypeAheadFilter(final String[] texts, final boolean fuzzy) {
+		this.texts = texts;
+		this.fuzzy = fuzzy;
+		index = FilterIndex.build(texts);
+	}
+
+	/**
+	 * @param query content of the filter box
+	 * @return the sorted indexes of the matching texts, <code>null</code> if the
+	 *         query is empty and all texts match
+	 */
+	int[] apply(final String query) {
+		if (query.isEmpty()) {
+			lastKey = null;
+			lastResult = null;
+			return null;
+		}
+
+		final String key = query.toLowerCase(Locale.ROOT);
+		final FilterIndex filterIndex = index.isDone() && !index.isCompletedExceptionally() ? index.getNow(null) : null;
+
+		final int[] candidates;
+		if (lastKey != null && refines(key, lastKey)) {
+			candidates = lastResult;
+		} else if (filterIndex != null && !fuzzy && key.length() >= FilterIndex.GRAM) {
+			candidates = filterIndex.candidates(key);
+		} else {
+			candidates = null;
+		}
+
+		final int count = candidates == null ? texts.length : candidates.length;
+		final int[] result = new int[count];
+		int matches = 0;
+		for (int i = 0; i < count; i++) {
+			final int candidate = candidates == null ? i : candidates[i];
+			final String text = filterIndex == null ? texts[candidate].toLowerCase(Locale.ROOT) : filterIndex.keyAt(candidate);
+			if (matches(text, key)) {
+				result[matches++] = candidate;
+			}
+		}
+
+		lastKey = key;
+		lastResult = Arrays.copyOf(result, matches);
+		return lastResult;
+	}
+
+	/**
+	 * @return <code>true</code> if every text matching the key also matches the
+	 *         previous key
+	 */
+	private boolean refines(final String key, final String previous) {
+		return fuzzy ? key.startsWith(previous) : key.contains(previous);
+	}
+
+	private boolean matches(final String text, final String key) {
+		if (!fuzzy) {
+			return text.contains(key);
+		}
+		int position = 0;
+		for (int i = 0; i < key.length(); i++) {
+			position = text.indexOf(key.charAt(i), position);
+			if (position < 0) {
+				return false;
+			}
+			position++;
+		}
+		return true;
+	}
+}
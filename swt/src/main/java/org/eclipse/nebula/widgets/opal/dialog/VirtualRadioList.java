@@ -0,0 +1,132 @@
+//start - license
+/*******************************************************************************
+ * Copyright (c) 2025 Ashera Cordova
+ *
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *******************************************************************************/
+//end - license
+package org.eclipse.nebula.widgets.opal.dialog;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+
+/**
+ * Instances of this class are a replacement of a group of radio buttons for
+ * large sets of values. Values are displayed in a virtual table that only
+ * creates the rows that are visible, and a filter box narrows the displayed
+ * values with a {@link TypeAheadFilter}.
+ */
+class VirtualRadioList extends Composite {
+	private static final int VISIBLE_ROWS = 10;
+
+	private final String[] values;
+	private final Text filter;
+	private final Table table;
+	private final TypeAheadFilter typeAheadFilter;
+
+	// Indexes of the displayed values, null when all values are displayed
+	private int[] visible;
+	private int selection = -1;
+
+	/**
+	 * Constructor
+	 *
+	 * @param parent parent composite
+	 * @param values values to display
+	 * @param defaultSelection index of the value selected by default
+	 * @param fuzzy if <code>true</code>, the filter matches the values containing
+	 *            the typed characters in order
+	 */
+	VirtualRadioList(final Composite parent, final String[] values, final int defaultSelection, final boolean fuzzy) {
+		super(parent, SWT.NONE);
+		this.values = values;
+		typeAheadFilter = new TypeAheadFilter(values, fuzzy);
+
+		final GridLayout gridLayout = new GridLayout(1, false);
+		gridLayout.marginHeight = gridLayout.marginWidth = 0;
+		setLayout(gridLayout);
+
+		filter = new Text(this, SWT.SEARCH | SWT.ICON_SEARCH | SWT.ICON_CANCEL | SWT.BORDER);
+		filter.setLayoutData(new GridData(GridData.FILL, GridData.BEGINNING, true, false));
+
+		table = new Table(this, SWT.VIRTUAL | SWT.SINGLE | SWT.FULL_SELECTION | SWT.BORDER | SWT.V_SCROLL);
+		final GridData gd = new GridData(GridData.FILL, GridData.FILL, true, true);
+		gd.heightHint = table.getItemHeight() * VISIBLE_ROWS;
+		table.setLayoutData(gd);
+		table.addListener(SWT.SetData, e -> {
+			final TableItem item = (TableItem) e.item;
+			item.setText(values[valueAt(table.indexOf(item))]);
+		});
+		table.addListener(SWT.Selection, e -> {
+			final int row = table.getSelectionIndex();
+			selection = row < 0 ? -1 : valueAt(row);
+		});
+		table.setItemCount(values.length);
+
+		if (defaultSelection >= 0 && defaultSelection < values.length) {
+			selection = defaultSelection;
+			table.setSelection(defaultSelection);
+			table.showSelection();
+		}
+
+		filter.addListener(SWT.Modify, e -> {
+			visible = typeAheadFilter.apply(filter.getText());
+			refresh();
+		});
+		filter.addListener(SWT.KeyDown, e -> {
+			if (e.keyCode == SWT.ARROW_DOWN && table.getItemCount() > 0) {
+				if (table.getSelectionIndex() < 0) {
+					table.setSelection(0);
+					table.notifyListeners(SWT.Selection, new Event());
+				}
+				table.setFocus();
+				e.doit = false;
+			}
+		});
+	}
+
+	/**
+	 * Add a listener notified when the user selects a value
+	 *
+	 * @param listener listener called with the selection event of the table
+	 */
+	void addSelectionListener(final Listener listener) {
+		table.addListener(SWT.Selection, listener);
+	}
+
+	/**
+	 * @return the index in the values of the selected value, -1 if none
+	 */
+	int getSelection() {
+		return selection;
+	}
+
+	private int valueAt(final int row) {
+		return visible == null ? row : visible[row];
+	}
+
+	private void refresh() {
+		final int count = visible == null ? values.length : visible.length;
+		table.setItemCount(count);
+		table.clearAll();
+		table.deselectAll();
+		if (selection >= 0) {
+			final int row = visible == null ? selection : Arrays.binarySearch(visible, selection);
+			if (row >= 0) {
+				table.setSelection(row);
+				table.showSelection();
+			}
+		}
+	}
+}